@@ -10,7 +10,7 @@
  * 
  * @author Antony Barrios 
  * Fecha de creación: 17/09/2024 
- * Última modificación: 13/10/2024
+ * Última modificación: 18/10/2026
  */
 
  import java.io.*;
@@ -113,22 +113,33 @@ public class Adoption {
     /**
      * Método para cargar un objeto Adoption desde una línea CSV.
      * @param csvLine La línea CSV que contiene la información del Adoption.
-     * @param allAnimals Lista de todos los animales disponibles para buscar por ID.
-     * @param allVolunteers Lista de todos los voluntarios disponibles para buscar por ID.
-     * @param allCandidates Lista de todos los candidatos a adopción disponibles para buscar por ID.
+     * @param allAnimals Registro de todos los animales disponibles para buscar por ID.
+     * @param allVolunteers Registro de todos los voluntarios disponibles para buscar por ID.
+     * @param allCandidates Registro de todos los candidatos a adopción disponibles para buscar por ID.
      * @return El objeto Adoption creado a partir de la línea CSV.
      */
-    public static Adoption fromCSV(String csvLine, List<Animal> allAnimals, List<Volunteer> allVolunteers, List<AdoptionCandidate> allCandidates) {
-        String[] fields = csvLine.split(",");
-        int animalId = Integer.parseInt(fields[0]);
-        int volunteerId = Integer.parseInt(fields[1]);
-        LocalDate adoptionDate = LocalDate.parse(fields[2], dateFormatter);
-        int adopterId = Integer.parseInt(fields[3]);
+    public static Adoption fromCSV(String csvLine, EntityIndex<Animal> allAnimals, EntityRegistry<Volunteer> allVolunteers, EntityRegistry<AdoptionCandidate> allCandidates) {
+        return fromCSV(CsvTokenizer.ofLine(csvLine), allAnimals, allVolunteers, allCandidates);
+    }
+
+    /**
+     * Método para cargar un objeto Adoption desde la línea actual de un tokenizador CSV.
+     * @param tokenizer El tokenizador posicionado en la línea del Adoption.
+     * @param allAnimals Registro de todos los animales disponibles para buscar por ID.
+     * @param allVolunteers Registro de todos los voluntarios disponibles para buscar por ID.
+     * @param allCandidates Registro de todos los candidatos a adopción disponibles para buscar por ID.
+     * @return El objeto Adoption creado a partir de la línea CSV.
+     */
+    public static Adoption fromCSV(CsvTokenizer tokenizer, EntityIndex<Animal> allAnimals, EntityRegistry<Volunteer> allVolunteers, EntityRegistry<AdoptionCandidate> allCandidates) {
+        int animalId = tokenizer.nextInt();
+        int volunteerId = tokenizer.nextInt();
+        LocalDate adoptionDate = LocalDate.parse(tokenizer.nextString(), dateFormatter);
+        int adopterId = tokenizer.nextInt();
 
         // Encontrar los objetos relacionados por ID
-        Animal animal = findAnimalById(allAnimals, animalId);
-        Volunteer volunteer = findVolunteerById(allVolunteers, volunteerId);
-        AdoptionCandidate adopter = findAdoptionCandidateById(allCandidates, adopterId);
+        Animal animal = allAnimals.findById(animalId);
+        Volunteer volunteer = allVolunteers.findById(volunteerId);
+        AdoptionCandidate adopter = allCandidates.findById(adopterId);
 
         // Crear y devolver la adopción
         return new Adoption(animal, volunteer, adoptionDate, adopter);
@@ -141,76 +152,24 @@ public class Adoption {
      * @throws IOException Si ocurre un error al escribir en el archivo.
      */
     public static void saveToCSV(List<Adoption> adoptions, String filePath) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            for (Adoption adoption : adoptions) {
-                writer.write(adoption.toCSV());
-                writer.newLine();
-            }
-        }
+        AtomicFileWriter.writeLines(adoptions, filePath, Adoption::toCSV);  // Reemplaza el archivo de forma atómica
     }
 
     /**
      * Método para cargar la lista de adopciones desde un archivo CSV.
      * @param filePath Ruta del archivo CSV desde donde se cargarán las adopciones.
-     * @param allAnimals Lista de todos los animales disponibles para asociar con las adopciones.
-     * @param allVolunteers Lista de todos los voluntarios disponibles para asociar con las adopciones.
-     * @param allCandidates Lista de todos los candidatos a adopción disponibles para asociar con las adopciones.
+     * @param allAnimals Registro de todos los animales disponibles para asociar con las adopciones.
+     * @param allVolunteers Registro de todos los voluntarios disponibles para asociar con las adopciones.
+     * @param allCandidates Registro de todos los candidatos a adopción disponibles para asociar con las adopciones.
      * @return Lista de adopciones cargadas desde el archivo CSV.
      * @throws IOException Si ocurre un error al leer el archivo.
      */
-    public static List<Adoption> loadFromCSV(String filePath, List<Animal> allAnimals, List<Volunteer> allVolunteers, List<AdoptionCandidate> allCandidates) throws IOException {
+    public static List<Adoption> loadFromCSV(String filePath, EntityIndex<Animal> allAnimals, EntityRegistry<Volunteer> allVolunteers, EntityRegistry<AdoptionCandidate> allCandidates) throws IOException {
         List<Adoption> adoptions = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                adoptions.add(Adoption.fromCSV(line, allAnimals, allVolunteers, allCandidates));
-            }
+        CsvTokenizer tokenizer = CsvTokenizer.open(filePath);
+        while (tokenizer.nextLine()) {
+            adoptions.add(Adoption.fromCSV(tokenizer, allAnimals, allVolunteers, allCandidates));
         }
         return adoptions;
     }
-
-    /**
-     * Método auxiliar para encontrar un animal por su ID.
-     * @param allAnimals Lista de todos los animales donde se realizará la búsqueda.
-     * @param id ID del animal a buscar.
-     * @return El animal encontrado o {@code null} si no se encuentra ningún animal con ese ID.
-     */
-    private static Animal findAnimalById(List<Animal> allAnimals, int id) {
-        for (Animal animal : allAnimals) {
-            if (animal.getId() == id) {
-                return animal;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Método auxiliar para encontrar un voluntario por su ID.
-     * @param allVolunteers Lista de todos los voluntarios donde se realizará la búsqueda.
-     * @param id ID del voluntario a buscar.
-     * @return El voluntario encontrado o {@code null} si no se encuentra ningún voluntario con ese ID.
-     */
-    private static Volunteer findVolunteerById(List<Volunteer> allVolunteers, int id) {
-        for (Volunteer volunteer : allVolunteers) {
-            if (volunteer.getId() == id) {
-                return volunteer;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Método auxiliar para encontrar un candidato a adopción por su ID.
-     * @param allCandidates Lista de todos los candidatos a adopción donde se realizará la búsqueda.
-     * @param id ID del candidato a adopción a buscar.
-     * @return El candidato a adopción encontrado o {@code null} si no se encuentra ningún candidato con ese ID.
-     */
-    private static AdoptionCandidate findAdoptionCandidateById(List<AdoptionCandidate> allCandidates, int id) {
-        for (AdoptionCandidate candidate : allCandidates) {
-            if (candidate.getId() == id) {
-                return candidate;
-            }
-        }
-        return null;
-    }
 }
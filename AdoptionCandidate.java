@@ -11,7 +11,7 @@
  * 
  * @author Angel Higueros
  * Fecha de creación: 18/09/2024 
- * Última modificación: 13/11/2024
+ * Última modificación: 18/10/2026
  */
 
 import java.io.*;
@@ -191,22 +191,33 @@ public class AdoptionCandidate {
      * Carga un objeto AdoptionCandidate desde una línea de texto en formato CSV.
      *
      * @param csvLine La línea de texto en formato CSV.
-     * @param allAnimals La lista de todos los animales disponibles.
-     * @param allVolunteers La lista de todos los voluntarios disponibles.
+     * @param allAnimals El registro de todos los animales disponibles.
+     * @param allVolunteers El registro de todos los voluntarios disponibles.
      * @return Un objeto AdoptionCandidate creado a partir de la línea CSV.
      */
-    public static AdoptionCandidate fromCSV(String csvLine, List<Animal> allAnimals, List<Volunteer> allVolunteers) {
-        String[] fields = csvLine.split(",");
-        int id = Integer.parseInt(fields[0]);
-        String name = fields[1];
-        String contactInfo = fields[2];
-        String reasonForAdoption = fields[3];
-        boolean hasPetExperience = Boolean.parseBoolean(fields[4]);
-        boolean additionalExperience = Boolean.parseBoolean(fields[5]);
-        int volunteerId = Integer.parseInt(fields[6]);
+    public static AdoptionCandidate fromCSV(String csvLine, EntityIndex<Animal> allAnimals, EntityRegistry<Volunteer> allVolunteers) {
+        return fromCSV(CsvTokenizer.ofLine(csvLine), allAnimals, allVolunteers);
+    }
+
+    /**
+     * Carga un objeto AdoptionCandidate desde la línea actual de un tokenizador CSV.
+     *
+     * @param tokenizer El tokenizador posicionado en la línea del candidato.
+     * @param allAnimals El registro de todos los animales disponibles.
+     * @param allVolunteers El registro de todos los voluntarios disponibles.
+     * @return Un objeto AdoptionCandidate creado a partir de la línea CSV.
+     */
+    public static AdoptionCandidate fromCSV(CsvTokenizer tokenizer, EntityIndex<Animal> allAnimals, EntityRegistry<Volunteer> allVolunteers) {
+        int id = tokenizer.nextInt();
+        String name = tokenizer.nextString();
+        String contactInfo = tokenizer.nextString();
+        String reasonForAdoption = tokenizer.nextString();
+        boolean hasPetExperience = tokenizer.nextBoolean();
+        boolean additionalExperience = tokenizer.nextBoolean();
+        int volunteerId = tokenizer.nextInt();
 
         // Encontrar el voluntario por ID
-        Volunteer volunteer = findVolunteerById(allVolunteers, volunteerId);
+        Volunteer volunteer = allVolunteers.findById(volunteerId);
 
         // Crear el candidato
         AdoptionCandidate candidate = new AdoptionCandidate(name, contactInfo, reasonForAdoption, hasPetExperience, additionalExperience, volunteer);
@@ -214,14 +225,11 @@ public class AdoptionCandidate {
         idCounter = Math.max(idCounter, id + 1);  // Actualizar el contador de ID si es necesario
 
         // Cargar la lista de animales adoptados
-        if (fields.length > 7 && !fields[7].isEmpty()) {
-            String[] animalIds = fields[7].split(";");
-            for (String animalIdStr : animalIds) {
-                int animalId = Integer.parseInt(animalIdStr);
-                Animal animal = findAnimalById(allAnimals, animalId);
-                if (animal != null) {
-                    candidate.animals.add(animal);
-                }
+        while (tokenizer.hasMoreFields()) {  // Los IDs de animales vienen separados por ";"
+            int animalId = tokenizer.nextInt(';');
+            Animal animal = allAnimals.findById(animalId);
+            if (animal != null) {
+                candidate.animals.add(animal);
             }
         }
 
@@ -236,63 +244,24 @@ public class AdoptionCandidate {
      * @throws IOException Si ocurre un error al escribir en el archivo CSV.
      */
     public static void saveToCSV(List<AdoptionCandidate> candidates, String filePath) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            for (AdoptionCandidate candidate : candidates) {
-                writer.write(candidate.toCSV());
-                writer.newLine();
-            }
-        }
+        AtomicFileWriter.writeLines(candidates, filePath, AdoptionCandidate::toCSV);  // Reemplaza el archivo de forma atómica
     }
 
     /**
      * Carga una lista de candidatos a adopción desde un archivo CSV.
      *
      * @param filePath La ruta del archivo CSV desde donde se cargarán los datos.
-     * @param allAnimals La lista de todos los animales disponibles.
-     * @param allVolunteers La lista de todos los voluntarios disponibles.
+     * @param allAnimals El registro de todos los animales disponibles.
+     * @param allVolunteers El registro de todos los voluntarios disponibles.
      * @return Una lista de objetos AdoptionCandidate cargados desde el archivo CSV.
      * @throws IOException Si ocurre un error al leer el archivo CSV.
      */
-    public static List<AdoptionCandidate> loadFromCSV(String filePath, List<Animal> allAnimals, List<Volunteer> allVolunteers) throws IOException {
+    public static List<AdoptionCandidate> loadFromCSV(String filePath, EntityIndex<Animal> allAnimals, EntityRegistry<Volunteer> allVolunteers) throws IOException {
         List<AdoptionCandidate> candidates = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                candidates.add(AdoptionCandidate.fromCSV(line, allAnimals, allVolunteers));
-            }
+        CsvTokenizer tokenizer = CsvTokenizer.open(filePath);
+        while (tokenizer.nextLine()) {
+            candidates.add(AdoptionCandidate.fromCSV(tokenizer, allAnimals, allVolunteers));
         }
         return candidates;
     }
-
-    /**
-     * Método auxiliar para encontrar un animal por ID que encuentra un animal por su ID en una lista de animales.
-     *
-     * @param allAnimals La lista de todos los animales.
-     * @param id El ID del animal a buscar.
-     * @return El objeto Animal si se encuentra, o null si no existe.
-     */
-    private static Animal findAnimalById(List<Animal> allAnimals, int id) {
-        for (Animal animal : allAnimals) {
-            if (animal.getId() == id) {
-                return animal;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Método auxiliar para encontrar un voluntario en una lista de voluntarios.
-     *
-     * @param allVolunteers La lista de todos los voluntarios.
-     * @param id El ID del voluntario a buscar.
-     * @return El objeto Volunteer si se encuentra, o null si no existe.
-     */
-    private static Volunteer findVolunteerById(List<Volunteer> allVolunteers, int id) {
-        for (Volunteer volunteer : allVolunteers) {
-            if (volunteer.getId() == id) {
-                return volunteer;
-            }
-        }
-        return null;
-    }
 }
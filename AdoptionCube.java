@@ -0,0 +1,214 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase AdoptionCube
+ *
+ * La clase AdoptionCube guarda cuántas adopciones hubo por mes, raza, nivel de
+ * peligrosidad y voluntario. Los datos se agrupan por mes en un mapa ordenado, y
+ * cada mes guarda sus totales y una celda por cada combinación de raza,
+ * peligrosidad y voluntario. Se arma en un solo recorrido al cargar los datos y se
+ * actualiza con cada adopción, de modo que los reportes de tendencia y de detalle
+ * por mes leen los conteos sin recorrer las adopciones.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+public class AdoptionCube {
+    public static final int NO_VOLUNTEER = -1;  // ID usado para las adopciones sin voluntario
+
+    private final NavigableMap<YearMonth, Month> byMonth = new TreeMap<>();  // Conteos de cada mes con adopciones
+    private final Map<Integer, String> volunteerNames = new HashMap<>();     // Nombre de cada voluntario visto
+
+    /**
+     * Conteos de un mes: los totales y una celda por combinación de raza, peligrosidad y voluntario.
+     */
+    private static class Month {
+        private int total;
+        private int dangerous;
+        private final Map<Cell, Integer> cells = new HashMap<>();
+    }
+
+    /**
+     * Combinación de raza, peligrosidad y voluntario dentro de un mes.
+     */
+    private static class Cell {
+        private final String breed;
+        private final boolean dangerous;
+        private final int volunteerId;
+
+        private Cell(String breed, boolean dangerous, int volunteerId) {
+            this.breed = breed;
+            this.dangerous = dangerous;
+            this.volunteerId = volunteerId;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Cell)) {
+                return false;
+            }
+            Cell cell = (Cell) other;
+            return dangerous == cell.dangerous && volunteerId == cell.volunteerId && Objects.equals(breed, cell.breed);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(breed, dangerous, volunteerId);
+        }
+    }
+
+    /**
+     * Crea un cubo con todas las adopciones de una lista.
+     *
+     * @param adoptions La lista de adopciones.
+     * @return El cubo con las adopciones de la lista.
+     */
+    public static AdoptionCube fromList(List<Adoption> adoptions) {
+        AdoptionCube cube = new AdoptionCube();
+        for (Adoption adoption : adoptions) {
+            cube.add(adoption);
+        }
+        return cube;
+    }
+
+    /**
+     * Suma una adopción a los conteos de su mes.
+     *
+     * @param adoption La adopción a agregar.
+     */
+    public void add(Adoption adoption) {
+        Animal animal = adoption.getAnimal();
+        Volunteer volunteer = adoption.getVolunteer();
+        int volunteerId = NO_VOLUNTEER;
+        if (volunteer != null) {
+            volunteerId = volunteer.getId();
+            volunteerNames.putIfAbsent(volunteerId, volunteer.getName());
+        }
+
+        Month month = byMonth.computeIfAbsent(YearMonth.from(adoption.getAdoptionDate()), m -> new Month());
+        month.total++;
+        if (animal.getDangerLevel()) {
+            month.dangerous++;
+        }
+        month.cells.merge(new Cell(animal.getBreed(), animal.getDangerLevel(), volunteerId), 1, Integer::sum);
+    }
+
+    /**
+     * @param month El mes.
+     * @return La cantidad de adopciones del mes.
+     */
+    public int count(YearMonth month) {
+        Month counts = byMonth.get(month);
+        return counts == null ? 0 : counts.total;
+    }
+
+    /**
+     * @param month El mes.
+     * @return La cantidad de adopciones de animales peligrosos del mes.
+     */
+    public int countDangerous(YearMonth month) {
+        Month counts = byMonth.get(month);
+        return counts == null ? 0 : counts.dangerous;
+    }
+
+    /**
+     * Busca el primer mes con adopciones dentro de un rango.
+     *
+     * @param from El primer mes del rango.
+     * @param to El último mes del rango.
+     * @return El primer mes con adopciones del rango, o null si el rango no tiene adopciones.
+     */
+    public YearMonth firstMonth(YearMonth from, YearMonth to) {
+        YearMonth first = byMonth.ceilingKey(from);
+        return first == null || first.isAfter(to) ? null : first;
+    }
+
+    /**
+     * Busca el último mes con adopciones dentro de un rango.
+     *
+     * @param from El primer mes del rango.
+     * @param to El último mes del rango.
+     * @return El último mes con adopciones del rango, o null si el rango no tiene adopciones.
+     */
+    public YearMonth lastMonth(YearMonth from, YearMonth to) {
+        YearMonth last = byMonth.floorKey(to);
+        return last == null || last.isBefore(from) ? null : last;
+    }
+
+    /**
+     * Agrupa las adopciones de un mes por raza.
+     *
+     * @param month El mes.
+     * @return Por cada raza, un arreglo con { adopciones, adopciones de animales peligrosos },
+     *         ordenado de la raza con más adopciones a la de menos (y por nombre en empates).
+     */
+    public Map<String, int[]> countByBreed(YearMonth month) {
+        Map<String, int[]> byBreed = new HashMap<>();
+        Month counts = byMonth.get(month);
+        if (counts != null) {
+            for (Map.Entry<Cell, Integer> entry : counts.cells.entrySet()) {
+                int[] breedCounts = byBreed.computeIfAbsent(entry.getKey().breed, breed -> new int[2]);
+                breedCounts[0] += entry.getValue();
+                if (entry.getKey().dangerous) {
+                    breedCounts[1] += entry.getValue();
+                }
+            }
+        }
+        return sortByCount(byBreed);
+    }
+
+    /**
+     * Agrupa las adopciones de un mes por el voluntario que las atendió.
+     *
+     * @param month El mes.
+     * @return Por cada nombre de voluntario, un arreglo con { adopciones, adopciones de animales
+     *         peligrosos }, ordenado del voluntario con más adopciones al de menos (y por nombre en empates).
+     */
+    public Map<String, int[]> countByVolunteer(YearMonth month) {
+        Map<Integer, int[]> byVolunteerId = new HashMap<>();
+        Month counts = byMonth.get(month);
+        if (counts != null) {
+            for (Map.Entry<Cell, Integer> entry : counts.cells.entrySet()) {
+                int[] volunteerCounts = byVolunteerId.computeIfAbsent(entry.getKey().volunteerId, id -> new int[2]);
+                volunteerCounts[0] += entry.getValue();
+                if (entry.getKey().dangerous) {
+                    volunteerCounts[1] += entry.getValue();
+                }
+            }
+        }
+        Map<String, int[]> byVolunteer = new HashMap<>();
+        for (Map.Entry<Integer, int[]> entry : byVolunteerId.entrySet()) {
+            String name = entry.getKey() == NO_VOLUNTEER
+                ? "Sin voluntario"
+                : volunteerNames.get(entry.getKey()) + " (ID " + entry.getKey() + ")";  // El ID distingue nombres repetidos
+            byVolunteer.put(name, entry.getValue());
+        }
+        return sortByCount(byVolunteer);
+    }
+
+    /**
+     * Método auxiliar que ordena los grupos de mayor a menor cantidad de adopciones y por nombre en empates.
+     */
+    private static Map<String, int[]> sortByCount(Map<String, int[]> groups) {
+        Map<String, int[]> sorted = new LinkedHashMap<>();
+        groups.entrySet().stream()
+            .sorted((a, b) -> a.getValue()[0] != b.getValue()[0]
+                ? Integer.compare(b.getValue()[0], a.getValue()[0])
+                : String.valueOf(a.getKey()).compareTo(String.valueOf(b.getKey())))
+            .forEachOrdered(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase AdoptionIndex
+ *
+ * La clase AdoptionIndex mantiene índices de las adopciones para los reportes:
+ * - Por fecha: un mapa ordenado con el día (epoch day) como llave. Las consultas por
+ *   período o por mes ubican el rango y recorren solo las adopciones de ese rango.
+ * - Por adoptante: las adopciones de cada adoptante, en orden de registro.
+ * - Por animal: la adopción de cada animal.
+ * Se actualiza al agregar cada adopción, de modo que ningún reporte necesita
+ * recorrer la lista completa de adopciones.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+public class AdoptionIndex {
+    private final NavigableMap<Long, List<Adoption>> byDay = new TreeMap<>();  // Adopciones de cada día, en orden de registro
+    private final Map<Integer, List<Adoption>> byAdopter = new HashMap<>();    // Adopciones por ID de adoptante
+    private final EntityRegistry<Adoption> byAnimal =
+        new EntityRegistry<>(adoption -> adoption.getAnimal().getId());      // Adopción por ID de animal
+
+    /**
+     * Crea un índice con todas las adopciones de una lista.
+     *
+     * @param adoptions La lista de adopciones.
+     * @return El índice con las adopciones de la lista.
+     */
+    public static AdoptionIndex fromList(List<Adoption> adoptions) {
+        AdoptionIndex index = new AdoptionIndex();
+        for (Adoption adoption : adoptions) {
+            index.add(adoption);
+        }
+        return index;
+    }
+
+    /**
+     * Agrega una adopción al índice.
+     *
+     * @param adoption La adopción a agregar.
+     */
+    public void add(Adoption adoption) {
+        byDay.computeIfAbsent(adoption.getAdoptionDate().toEpochDay(), day -> new ArrayList<>(1)).add(adoption);
+        byAdopter.computeIfAbsent(adoption.getAdopter().getId(), id -> new ArrayList<>(2)).add(adoption);
+        if (byAnimal.findById(adoption.getAnimal().getId()) == null) {
+            byAnimal.register(adoption);  // Conservar la primera, igual que al recorrer la lista
+        }
+    }
+
+    /**
+     * Busca la adopción de un animal.
+     *
+     * @param animal El animal adoptado.
+     * @return La adopción del animal, o null si no fue adoptado.
+     */
+    public Adoption findByAnimal(Animal animal) {
+        return byAnimal.findById(animal.getId());
+    }
+
+    /**
+     * Busca las adopciones de un adoptante.
+     *
+     * @param adopter El adoptante.
+     * @return Las adopciones del adoptante, en orden de registro.
+     */
+    public List<Adoption> findByAdopter(AdoptionCandidate adopter) {
+        return byAdopter.getOrDefault(adopter.getId(), Collections.emptyList());
+    }
+
+    /**
+     * Busca las adopciones realizadas entre dos fechas, ambas incluidas.
+     *
+     * @param startDate Fecha de inicio del período.
+     * @param endDate Fecha de fin del período.
+     * @return Las adopciones del período, ordenadas por fecha.
+     */
+    public List<Adoption> findBetween(LocalDate startDate, LocalDate endDate) {
+        List<Adoption> result = new ArrayList<>();
+        if (startDate.isAfter(endDate)) {
+            return result;  // Rango vacío (subMap no admite límites invertidos)
+        }
+        for (List<Adoption> day : byDay.subMap(startDate.toEpochDay(), true, endDate.toEpochDay(), true).values()) {
+            result.addAll(day);
+        }
+        return result;
+    }
+}
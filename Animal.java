@@ -10,7 +10,7 @@
  * 
  * @author Daniela Navas
  * Fecha de creación: 12/09/2024 
- * Última modificación: 13/10/2024
+ * Última modificación: 18/10/2026
  */
 
 import java.io.*;
@@ -25,6 +25,7 @@ public class Animal {
     private static int idCounter = 1;     // ID único ascendiente 
     private boolean adopted,              // Estado de adopción (true si está adoptado, false si no)
                     dangerLevel;          // Nivel de peligro (true si es peligroso, false si no)
+    private AnimalStatusIndex statusIndex;  // Índice de estados al que se avisan los cambios (o null)
 
     /**
      * Constructor de la clase Animal.
@@ -44,6 +45,13 @@ public class Animal {
         this.adopted = adopted;             // Inicializa el estado de adopción como no adoptado
     }
 
+    /**
+     * Constructor para las vistas de AnimalStore, que guardan sus datos fuera del objeto.
+     * No consume un ID del contador.
+     */
+    protected Animal() {
+    }
+
     /**
      * Obtiene el Nivel de Peligro del Animal en número
      * 
@@ -59,9 +67,9 @@ public class Animal {
      * @return la descripción del Nivel de Peligro de, animal.
      */
     public String getDangerLevelDescription() {
-        if(dangerLevel){
+        if(getDangerLevel()){
             return "Peligroso";
-        } else if(!dangerLevel){
+        } else if(!getDangerLevel()){
             return "No Peligroso";
         } else{
             return "Nivel de peligro desconocido";
@@ -120,6 +128,27 @@ public class Animal {
      */
     public void setAdopted(boolean adopted) {
         this.adopted = adopted;
+        if (getStatusIndex() != null) {
+            getStatusIndex().update(this);  // Mantener actualizado el índice de estados
+        }
+    }
+
+    /**
+     * Asocia el animal al índice de estados al que debe avisar sus cambios.
+     *
+     * @param statusIndex El índice de estados.
+     */
+    void setStatusIndex(AnimalStatusIndex statusIndex) {
+        this.statusIndex = statusIndex;
+    }
+
+    /**
+     * Obtiene el índice de estados al que el animal avisa sus cambios.
+     *
+     * @return El índice de estados, o null si el animal no está indexado.
+     */
+    protected AnimalStatusIndex getStatusIndex() {
+        return statusIndex;
     }
 
     /**
@@ -139,11 +168,11 @@ public class Animal {
     @Override
     public String toString() {
         return "-------------------------------------------------------\n" +
-            "ID: " + this.id + "\n" +
-            "Nombre: " + this.name + "\n" +
-            "Raza: " + this.breed + "\n" +
-            "Edad: " + this.age + " años\n" +
-            "Descripción: " + this.description + "\n" +
+            "ID: " + this.getId() + "\n" +
+            "Nombre: " + this.getName() + "\n" +
+            "Raza: " + this.getBreed() + "\n" +
+            "Edad: " + this.getAge() + " años\n" +
+            "Descripción: " + this.getDescription() + "\n" +
             "Peligrosidad: " + this.getDangerLevelDescription() + "\n" +
             "Estado: " + (this.isAdopted() ? "Adoptado" : "No adoptado") + "\n" +
             "-------------------------------------------------------\n";
@@ -155,7 +184,7 @@ public class Animal {
      * @return Una cadena que representa el objeto Animal en formato CSV, donde los campos están separados por comas.
      */
     public String toCSV() {
-        return id + "," + name + "," + breed + "," + description + "," + age + "," + adopted + "," + dangerLevel;
+        return getId() + "," + getName() + "," + getBreed() + "," + getDescription() + "," + getAge() + "," + isAdopted() + "," + getDangerLevel();
     }
 
     /**
@@ -166,21 +195,56 @@ public class Animal {
      * @throws NumberFormatException Si los valores numéricos en la línea CSV no pueden ser convertidos correctamente.
      */
     public static Animal fromCSV(String csvLine) {
-        String[] fields = csvLine.split(",");
-        int id = Integer.parseInt(fields[0]);
-        String name = fields[1];
-        String breed = fields[2];
-        String description = fields[3];
-        int age = Integer.parseInt(fields[4]);
-        boolean adopted = Boolean.parseBoolean(fields[5]);
-        boolean dangerLevel = Boolean.parseBoolean(fields[6]);
-
-        // Crear el animal con el ID ya cargado
+        return fromCSV(CsvTokenizer.ofLine(csvLine));
+    }
+
+    /**
+     * Carga un objeto Animal desde la línea actual de un tokenizador CSV.
+     *
+     * @param tokenizer El tokenizador posicionado en la línea del Animal.
+     * @return Un objeto Animal con los atributos cargados desde la línea CSV.
+     * @throws NumberFormatException Si los valores numéricos en la línea CSV no pueden ser convertidos correctamente.
+     */
+    public static Animal fromCSV(CsvTokenizer tokenizer) {
+        int id = tokenizer.nextInt();
+        String name = tokenizer.nextString(StringDictionary.shared());   // Nombres y razas se repiten mucho
+        String breed = tokenizer.nextString(StringDictionary.shared());
+        String description = tokenizer.nextString();
+        int age = tokenizer.nextInt();
+        boolean adopted = tokenizer.nextBoolean();
+        boolean dangerLevel = tokenizer.nextBoolean();
+
+        return withId(id, name, breed, description, age, adopted, dangerLevel);  // Crear el animal con el ID ya cargado
+    }
+
+    /**
+     * Crea un animal con un ID ya conocido, por ejemplo al cargarlo desde un archivo.
+     *
+     * @param id El ID del animal.
+     * @param name El nombre del animal.
+     * @param breed La raza del animal.
+     * @param description Una breve descripción del animal.
+     * @param age La edad del animal.
+     * @param adopted El estado de adopción del animal.
+     * @param dangerLevel El nivel de peligro del animal.
+     * @return Un objeto Animal con el ID indicado.
+     */
+    public static Animal withId(int id, String name, String breed, String description, int age, boolean adopted, boolean dangerLevel) {
         Animal animal = new Animal(name, breed, description, age, adopted, dangerLevel);
         animal.id = id;  // Asignar el ID manualmente
+        reserveId(id);
         return animal;
     }
 
+    /**
+     * Actualiza el contador de ID para que los animales nuevos no repitan un ID ya cargado.
+     *
+     * @param id El ID de un animal cargado.
+     */
+    static void reserveId(int id) {
+        idCounter = Math.max(idCounter, id + 1);  // Actualizar el contador de ID si es necesario
+    }
+
     /**
      * Guarda la lista de animales en un archivo CSV.
      *
@@ -189,12 +253,7 @@ public class Animal {
      * @throws IOException Si ocurre un error al intentar escribir en el archivo.
      */
     public static void saveToCSV(List<Animal> animals, String filePath) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            for (Animal animal : animals) {
-                writer.write(animal.toCSV());
-                writer.newLine();
-            }
-        }
+        AtomicFileWriter.writeLines(animals, filePath, Animal::toCSV);  // Reemplaza el archivo de forma atómica
     }
 
     /**
@@ -206,11 +265,9 @@ public class Animal {
      */
     public static List<Animal> loadFromCSV(String filePath) throws IOException {
         List<Animal> animals = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                animals.add(Animal.fromCSV(line));
-            }
+        CsvTokenizer tokenizer = CsvTokenizer.open(filePath);
+        while (tokenizer.nextLine()) {
+            animals.add(Animal.fromCSV(tokenizer));
         }
         return animals;
     }
@@ -0,0 +1,120 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase AnimalStatusIndex
+ *
+ * La clase AnimalStatusIndex mantiene índices secundarios (BitSet sobre los IDs de
+ * los animales) por estado de adopción y por nivel de peligro. Los reportes recorren
+ * solo los animales que cumplen el filtro, en lugar de recorrer toda la lista; los
+ * totales de los encabezados los lleva ShelterStats. Los animales registrados avisan
+ * al índice cuando cambia su estado de adopción.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+public class AnimalStatusIndex {
+    private final EntityIndex<Animal> animals;           // Índice de animales por ID, para las listas filtradas
+    private final BitSet adopted = new BitSet();         // IDs de animales adoptados
+    private final BitSet dangerous = new BitSet();       // IDs de animales peligrosos
+    private final BitSet notDangerous = new BitSet();    // IDs de animales no peligrosos
+
+    /**
+     * Constructor que crea un índice vacío.
+     *
+     * @param animals El índice de animales por ID, usado para obtener los animales filtrados.
+     */
+    public AnimalStatusIndex(EntityIndex<Animal> animals) {
+        this.animals = animals;
+    }
+
+    /**
+     * Crea un índice con todos los animales de una lista.
+     *
+     * @param animalList La lista de animales.
+     * @param animals El índice de animales por ID.
+     * @return El índice con los animales de la lista.
+     */
+    public static AnimalStatusIndex fromList(List<Animal> animalList, EntityIndex<Animal> animals) {
+        AnimalStatusIndex index = new AnimalStatusIndex(animals);
+        for (Animal animal : animalList) {
+            index.add(animal);
+        }
+        return index;
+    }
+
+    /**
+     * Agrega un animal al índice. A partir de ahora el animal avisa al índice
+     * cuando cambia su estado de adopción.
+     *
+     * @param animal El animal a agregar.
+     */
+    public void add(Animal animal) {
+        animal.setStatusIndex(this);
+        update(animal);
+    }
+
+    /**
+     * Actualiza los bits de un animal según su estado actual.
+     *
+     * @param animal El animal que cambió.
+     */
+    public void update(Animal animal) {
+        int id = animal.getId();
+        if (id < 0) {
+            return;  // BitSet no admite posiciones negativas
+        }
+        adopted.set(id, animal.isAdopted());
+        dangerous.set(id, animal.getDangerLevel());
+        notDangerous.set(id, !animal.getDangerLevel());
+    }
+
+    /**
+     * @return La cantidad de animales adoptados.
+     */
+    public int countAdopted() {
+        return adopted.cardinality();
+    }
+
+    /**
+     * @return Los animales adoptados, en orden de ID.
+     */
+    public List<Animal> getAdoptedAnimals() {
+        return collect(adopted);
+    }
+
+    /**
+     * @return Los animales peligrosos, en orden de ID.
+     */
+    public List<Animal> getDangerousAnimals() {
+        return collect(dangerous);
+    }
+
+    /**
+     * @return Los animales no peligrosos, en orden de ID.
+     */
+    public List<Animal> getNotDangerousAnimals() {
+        return collect(notDangerous);
+    }
+
+    /**
+     * Método auxiliar que obtiene los animales de los IDs marcados en un BitSet.
+     */
+    private List<Animal> collect(BitSet ids) {
+        List<Animal> result = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            Animal animal = animals.findById(id);
+            if (animal != null) {
+                result.add(animal);
+            }
+        }
+        return result;
+    }
+}
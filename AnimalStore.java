@@ -0,0 +1,356 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase AnimalStore
+ *
+ * La clase AnimalStore es un almacén compacto de animales para volúmenes muy grandes.
+ * En lugar de un objeto Animal por animal, guarda cada atributo en un arreglo
+ * paralelo: IDs y edades como enteros, los indicadores de adopción y peligrosidad
+ * en un BitSet (dos bits por animal) y la raza como un código de un diccionario
+ * de razas. Los animales se exponen como vistas livianas (subclases de Animal que
+ * solo guardan su posición), que se crean al consultarlas, de modo que Report y
+ * Main los usan igual que a un Animal normal.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AnimalStore implements EntityIndex<Animal> {
+    private static final int INITIAL_CAPACITY = 16;  // Capacidad inicial de los arreglos
+
+    private int size;                      // Cantidad de animales
+    private int[] ids;                     // ID de cada animal
+    private int[] ages;                    // Edad de cada animal
+    private int[] breedCodes;              // Código de raza de cada animal
+    private String[] names;                // Nombre de cada animal
+    private String[] descriptions;         // Descripción de cada animal
+    private final BitSet flags = new BitSet();                        // Bits 2i (adoptado) y 2i+1 (peligroso)
+    private final List<String> breeds = new ArrayList<>();            // Diccionario de razas por código
+    private final Map<String, Integer> breedIndex = new HashMap<>();  // Código de cada raza
+    private int[] slotIds;                 // Tabla hash de ID a posición: IDs
+    private int[] slotPositions;           // Tabla hash de ID a posición: posición + 1 (0 indica casilla libre)
+    private final List<Animal> view = new AnimalList();               // Vista de lista del almacén
+    private AnimalStatusIndex statusIndex;                            // Índice de estados de las vistas (o null)
+
+    /**
+     * Constructor que crea un almacén vacío.
+     */
+    public AnimalStore() {
+        ids = new int[INITIAL_CAPACITY];
+        ages = new int[INITIAL_CAPACITY];
+        breedCodes = new int[INITIAL_CAPACITY];
+        names = new String[INITIAL_CAPACITY];
+        descriptions = new String[INITIAL_CAPACITY];
+        slotIds = new int[INITIAL_CAPACITY * 2];
+        slotPositions = new int[INITIAL_CAPACITY * 2];
+    }
+
+    /**
+     * Crea un almacén a partir de una lista de animales ya cargados.
+     *
+     * @param animals La lista de animales.
+     * @return Un almacén con una copia de los datos de los animales.
+     */
+    public static AnimalStore fromList(List<Animal> animals) {
+        AnimalStore store = new AnimalStore();
+        for (Animal animal : animals) {
+            store.register(animal);
+        }
+        return store;
+    }
+
+    /**
+     * Carga el almacén desde un archivo CSV con el mismo formato que {@link Animal#loadFromCSV(String)},
+     * sin crear un objeto Animal por línea.
+     *
+     * @param filePath La ruta del archivo CSV.
+     * @return Un almacén con los animales del archivo.
+     * @throws IOException Si ocurre un error al intentar leer el archivo.
+     */
+    public static AnimalStore loadFromCSV(String filePath) throws IOException {
+        AnimalStore store = new AnimalStore();
+        CsvTokenizer tokenizer = CsvTokenizer.open(filePath);
+        while (tokenizer.nextLine()) {
+            int id = tokenizer.nextInt();
+            String name = tokenizer.nextString(StringDictionary.shared());
+            String breed = tokenizer.nextString(StringDictionary.shared());
+            String description = tokenizer.nextString();
+            int age = tokenizer.nextInt();
+            boolean adopted = tokenizer.nextBoolean();
+            boolean dangerLevel = tokenizer.nextBoolean();
+            store.put(id, name, breed, description, age, adopted, dangerLevel);
+        }
+        return store;
+    }
+
+    /**
+     * Devuelve el almacén de una lista obtenida con {@link #asList()}. Si la lista no
+     * pertenece a un almacén, crea uno con una copia de sus datos.
+     *
+     * @param animals La lista de animales.
+     * @return El almacén de la lista.
+     */
+    public static AnimalStore storeOf(List<Animal> animals) {
+        if (animals instanceof AnimalList) {
+            return ((AnimalList) animals).store();
+        }
+        return fromList(animals);
+    }
+
+    /**
+     * Devuelve el almacén como lista de animales. Cada elemento es una vista que se
+     * crea al consultarla; agregar un animal a la lista lo copia al almacén.
+     *
+     * @return La lista de animales del almacén.
+     */
+    public List<Animal> asList() {
+        return view;
+    }
+
+    /**
+     * Devuelve la cantidad de animales del almacén.
+     *
+     * @return La cantidad de animales.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Busca un animal por su ID.
+     *
+     * @param id El ID del animal a buscar.
+     * @return Una vista del animal, o null si no existe.
+     */
+    @Override
+    public Animal findById(int id) {
+        int position = positionOf(id);
+        return position < 0 ? null : new View(position);
+    }
+
+    /**
+     * Registra un animal copiando sus datos. Si ya existía un animal con el mismo ID,
+     * se reemplazan sus datos.
+     *
+     * @param animal El animal a registrar.
+     */
+    @Override
+    public void register(Animal animal) {
+        if (animal == null) {
+            return;
+        }
+        put(animal.getId(), animal.getName(), animal.getBreed(), animal.getDescription(), animal.getAge(),
+            animal.isAdopted(), animal.getDangerLevel());
+    }
+
+    /**
+     * Guarda los datos de un animal, agregándolo o reemplazándolo por ID. Lo usan las
+     * cargas que leen los campos sin crear un objeto Animal (CSV y snapshot).
+     */
+    void put(int id, String name, String breed, String description, int age, boolean adopted, boolean dangerLevel) {
+        int position = positionOf(id);
+        if (position < 0) {
+            if (size == ids.length) {
+                grow();
+            }
+            position = size++;
+            ids[position] = id;
+            index(id, position);
+            Animal.reserveId(id);  // Las vistas no pasan por el constructor que avanza el contador
+        }
+        names[position] = name;
+        breedCodes[position] = breedCode(breed);
+        descriptions[position] = description;
+        ages[position] = age;
+        flags.set(2 * position, adopted);
+        flags.set(2 * position + 1, dangerLevel);
+    }
+
+    /**
+     * Método auxiliar que obtiene el código de una raza, agregándola al diccionario si es nueva.
+     */
+    private int breedCode(String breed) {
+        Integer code = breedIndex.get(breed);
+        if (code == null) {
+            code = breeds.size();
+            breeds.add(breed);
+            breedIndex.put(breed, code);
+        }
+        return code;
+    }
+
+    /**
+     * Método auxiliar que ubica la posición de un ID, o -1 si no existe.
+     */
+    private int positionOf(int id) {
+        int mask = slotIds.length - 1;
+        int slot = mix(id) & mask;
+        while (slotPositions[slot] != 0) {
+            if (slotIds[slot] == id) {
+                return slotPositions[slot] - 1;
+            }
+            slot = (slot + 1) & mask;  // Sondeo lineal
+        }
+        return -1;
+    }
+
+    /**
+     * Método auxiliar que registra la posición de un ID en la tabla hash.
+     */
+    private void index(int id, int position) {
+        int mask = slotIds.length - 1;
+        int slot = mix(id) & mask;
+        while (slotPositions[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slotIds[slot] = id;
+        slotPositions[slot] = position + 1;
+    }
+
+    /**
+     * Método auxiliar que dispersa los bits del ID, ya que los IDs suelen ser consecutivos.
+     */
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Método auxiliar que amplía los arreglos y reconstruye la tabla hash.
+     */
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        breedCodes = Arrays.copyOf(breedCodes, capacity);
+        names = Arrays.copyOf(names, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+
+        int slots = Integer.highestOneBit(capacity * 2 - 1) << 1;  // Factor de carga menor a 0.5
+        slotIds = new int[slots];
+        slotPositions = new int[slots];
+        for (int i = 0; i < size; i++) {
+            index(ids[i], i);
+        }
+    }
+
+    /**
+     * Lista de vistas sobre el almacén.
+     */
+    private class AnimalList extends AbstractList<Animal> {
+        @Override
+        public Animal get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Índice: " + index + ", tamaño: " + size);
+            }
+            return new View(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean add(Animal animal) {
+            register(animal);
+            modCount++;
+            return true;
+        }
+
+        private AnimalStore store() {
+            return AnimalStore.this;
+        }
+    }
+
+    /**
+     * Vista liviana de un animal del almacén: solo guarda su posición y lee los
+     * datos de los arreglos. Dos vistas de la misma posición son iguales.
+     */
+    private class View extends Animal {
+        private final int position;  // Posición del animal en los arreglos
+
+        private View(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public int getId() {
+            return ids[position];
+        }
+
+        @Override
+        public String getName() {
+            return names[position];
+        }
+
+        @Override
+        public String getBreed() {
+            return breeds.get(breedCodes[position]);
+        }
+
+        @Override
+        public int getAge() {
+            return ages[position];
+        }
+
+        @Override
+        public String getDescription() {
+            return descriptions[position];
+        }
+
+        @Override
+        public boolean isAdopted() {
+            return flags.get(2 * position);
+        }
+
+        @Override
+        public void setAdopted(boolean adopted) {
+            flags.set(2 * position, adopted);
+            if (statusIndex != null) {
+                statusIndex.update(this);  // Mantener actualizado el índice de estados
+            }
+        }
+
+        @Override
+        public boolean getDangerLevel() {
+            return flags.get(2 * position + 1);
+        }
+
+        @Override
+        void setStatusIndex(AnimalStatusIndex index) {
+            statusIndex = index;  // Compartido por todas las vistas del almacén
+        }
+
+        @Override
+        protected AnimalStatusIndex getStatusIndex() {
+            return statusIndex;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof View && ((View) other).store() == AnimalStore.this && ((View) other).position == position;
+        }
+
+        @Override
+        public int hashCode() {
+            return position;
+        }
+
+        private AnimalStore store() {
+            return AnimalStore.this;
+        }
+    }
+}
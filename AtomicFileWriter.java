@@ -0,0 +1,172 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase AtomicFileWriter
+ *
+ * La clase AtomicFileWriter guarda archivos de forma segura ante cierres
+ * inesperados: escribe primero un archivo temporal en el mismo directorio, lo
+ * sincroniza con el disco (fsync) y luego lo renombra de forma atómica sobre el
+ * archivo original. Así el archivo siempre contiene la versión anterior completa
+ * o la nueva completa, nunca una mitad. Sirve tanto para archivos de texto (CSV)
+ * como para archivos binarios (snapshot).
+ *
+ * Para reemplazar varios archivos juntos, el temporal de cada uno se puede preparar
+ * primero (prepare) y renombrar después (commit), cuando todos están listos.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Function;
+
+public class AtomicFileWriter {
+    private static final String TEMP_SUFFIX = ".tmp";  // Sufijo del archivo temporal
+
+    /**
+     * Interfaz funcional para escribir el contenido de un archivo sobre un flujo de salida.
+     */
+    public interface ContentWriter {
+        void write(OutputStream output) throws IOException;
+    }
+
+    /**
+     * Guarda una colección de elementos, una línea por elemento, reemplazando el archivo de forma atómica.
+     *
+     * @param items Los elementos a guardar.
+     * @param filePath La ruta del archivo destino.
+     * @param toLine La función que convierte cada elemento en su línea de texto.
+     * @throws IOException Si ocurre un error al escribir, sincronizar o renombrar el archivo.
+     */
+    public static <T> void writeLines(Iterable<T> items, String filePath, Function<T, String> toLine) throws IOException {
+        prepareLines(items, filePath, toLine);
+        commit(filePath);
+    }
+
+    /**
+     * Escribe el archivo temporal con una línea por elemento, sin reemplazar todavía el archivo.
+     *
+     * @param items Los elementos a guardar.
+     * @param filePath La ruta del archivo destino.
+     * @param toLine La función que convierte cada elemento en su línea de texto.
+     * @throws IOException Si ocurre un error al escribir o sincronizar el archivo temporal.
+     */
+    public static <T> void prepareLines(Iterable<T> items, String filePath, Function<T, String> toLine) throws IOException {
+        prepare(filePath, output -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            for (T item : items) {
+                writer.write(toLine.apply(item));
+                writer.newLine();
+            }
+            writer.flush();
+        });
+    }
+
+    /**
+     * Guarda un archivo con el contenido que produce el escritor, reemplazándolo de forma atómica.
+     *
+     * @param filePath La ruta del archivo destino.
+     * @param contentWriter La operación que escribe el contenido completo del archivo.
+     * @throws IOException Si ocurre un error al escribir, sincronizar o renombrar el archivo.
+     */
+    public static void write(String filePath, ContentWriter contentWriter) throws IOException {
+        prepare(filePath, contentWriter);
+        commit(filePath);
+    }
+
+    /**
+     * Escribe el archivo temporal con el contenido que produce el escritor y lo
+     * sincroniza con el disco, sin reemplazar todavía el archivo.
+     *
+     * @param filePath La ruta del archivo destino.
+     * @param contentWriter La operación que escribe el contenido completo del archivo.
+     * @throws IOException Si ocurre un error al escribir o sincronizar el archivo temporal.
+     */
+    public static void prepare(String filePath, ContentWriter contentWriter) throws IOException {
+        Path temp = tempOf(filePath);
+        try (FileOutputStream output = new FileOutputStream(temp.toFile())) {
+            BufferedOutputStream buffered = new BufferedOutputStream(output);
+            contentWriter.write(buffered);
+            buffered.flush();
+            output.getFD().sync();  // Asegurar que el contenido llegó al disco antes de renombrar
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Reemplaza el archivo por su temporal, preparado antes con {@code prepare}, de forma atómica.
+     *
+     * @param filePath La ruta del archivo destino.
+     * @throws IOException Si ocurre un error al renombrar el archivo.
+     */
+    public static void commit(String filePath) throws IOException {
+        Path target = Paths.get(filePath).toAbsolutePath();
+        Path temp = tempOf(filePath);
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(target.getParent());
+    }
+
+    /**
+     * Indica si el archivo tiene un temporal preparado que todavía no reemplazó al original.
+     *
+     * @param filePath La ruta del archivo destino.
+     * @return true si existe el archivo temporal.
+     */
+    public static boolean isPrepared(String filePath) {
+        return Files.exists(tempOf(filePath));
+    }
+
+    /**
+     * Borra el temporal preparado de un archivo, si existe, sin tocar el original.
+     *
+     * @param filePath La ruta del archivo destino.
+     * @throws IOException Si ocurre un error al borrar el archivo temporal.
+     */
+    public static void discard(String filePath) throws IOException {
+        Files.deleteIfExists(tempOf(filePath));
+    }
+
+    /**
+     * Método auxiliar que devuelve la ruta del archivo temporal de un archivo.
+     */
+    private static Path tempOf(String filePath) {
+        return Paths.get(Paths.get(filePath).toAbsolutePath() + TEMP_SUFFIX);
+    }
+
+    /**
+     * Método auxiliar que sincroniza el directorio para que el renombrado sea durable.
+     * Algunos sistemas operativos no permiten abrir directorios; en ese caso se omite.
+     */
+    private static void syncDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // No soportado en esta plataforma; el renombrado ya es atómico
+        }
+    }
+}
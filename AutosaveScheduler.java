@@ -0,0 +1,104 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase AutosaveScheduler
+ *
+ * La clase AutosaveScheduler ejecuta el guardado automático en un hilo en segundo
+ * plano, fuera del hilo del menú. Cada cambio avisa al planificador, que agrupa
+ * los cambios seguidos en un solo guardado: guarda cuando pasa un período sin
+ * cambios, o cuando se cumple el intervalo máximo desde el primer cambio sin guardar.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class AutosaveScheduler {
+    private final ScheduledExecutorService executor;  // Hilo del guardado automático
+    private final Runnable saveTask;                  // Operación de guardado
+    private final long quietNanos;                    // Tiempo sin cambios antes de guardar
+    private final long maxIntervalNanos;              // Tiempo máximo desde el primer cambio sin guardar
+    private ScheduledFuture<?> pendingSave;           // Guardado programado, o null si no hay
+    private boolean hasChanges;                       // true si hay cambios sin guardar
+    private long firstChange;                         // Momento (nanoTime) del primer cambio sin guardar
+
+    /**
+     * Constructor que crea el planificador y su hilo en segundo plano.
+     *
+     * @param saveTask La operación de guardado que se ejecuta en segundo plano.
+     * @param quietMillis Los milisegundos sin cambios tras los que se guarda.
+     * @param maxIntervalMillis Los milisegundos máximos que un cambio puede esperar a guardarse.
+     */
+    public AutosaveScheduler(Runnable saveTask, long quietMillis, long maxIntervalMillis) {
+        this.saveTask = saveTask;
+        this.quietNanos = TimeUnit.MILLISECONDS.toNanos(quietMillis);
+        this.maxIntervalNanos = TimeUnit.MILLISECONDS.toNanos(maxIntervalMillis);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "autosave");
+            thread.setDaemon(true);  // No impedir que el programa termine
+            return thread;
+        });
+    }
+
+    /**
+     * Avisa que hubo un cambio. Reprograma el guardado para después del período sin
+     * cambios, sin pasar del intervalo máximo desde el primer cambio sin guardar.
+     */
+    public synchronized void changed() {
+        if (executor.isShutdown()) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (!hasChanges) {
+            hasChanges = true;
+            firstChange = now;
+        }
+        long delay = Math.min(quietNanos, Math.max(0, firstChange + maxIntervalNanos - now));
+        if (pendingSave != null) {
+            pendingSave.cancel(false);
+        }
+        pendingSave = executor.schedule(this::runSave, delay, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Detiene el planificador, esperando a que termine un guardado en curso.
+     * Los cambios pendientes no se guardan; se espera un guardado final explícito.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (pendingSave != null) {
+                pendingSave.cancel(false);
+                pendingSave = null;
+            }
+            executor.shutdown();
+        }
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Método auxiliar que ejecuta el guardado programado. Los cambios que lleguen
+     * durante el guardado programan el siguiente.
+     */
+    private void runSave() {
+        synchronized (this) {
+            hasChanges = false;
+            pendingSave = null;
+        }
+        try {
+            saveTask.run();
+        } catch (RuntimeException e) {
+            System.out.println("Error en el guardado automático: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,340 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase CsvTokenizer
+ *
+ * La clase CsvTokenizer recorre un archivo CSV directamente sobre sus bytes.
+ * El archivo se lee completo en un solo bloque, los textos se decodifican
+ * explícitamente como UTF-8 y los enteros y booleanos se leen directo de los bytes,
+ * sin crear un arreglo ni un String intermedio por cada campo.
+ * Es el lector común de todos los métodos fromCSV del sistema.
+ *
+ * El archivo no se mapea en memoria: un mapeo solo se libera cuando el recolector de
+ * basura descarta el buffer, y en Windows un archivo mapeado no se puede reemplazar,
+ * lo que haría fallar el guardado atómico de ese CSV.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class CsvTokenizer {
+    private static final char FIELD_SEPARATOR = ',';  // Separador de campos por defecto
+
+    private final ByteBuffer buffer;   // Contenido del archivo o de la línea
+    private int nextLineStart;         // Inicio de la siguiente línea
+    private int lineStart;             // Inicio de la línea actual
+    private int lineEnd;               // Fin de la línea actual (exclusivo, sin '\r')
+    private int position;              // Posición del siguiente campo en la línea actual
+    private byte[] scratch = new byte[128];  // Arreglo reutilizable para decodificar textos
+
+    /**
+     * Constructor que inicializa el tokenizador sobre un buffer de bytes.
+     *
+     * @param buffer El buffer con el contenido CSV.
+     */
+    private CsvTokenizer(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.nextLineStart = hasBom(buffer) ? 3 : 0;  // Omitir la marca BOM de UTF-8 si existe
+    }
+
+    /**
+     * Abre un archivo CSV leyéndolo completo. El archivo queda cerrado al volver.
+     *
+     * @param filePath La ruta del archivo CSV.
+     * @return Un tokenizador posicionado antes de la primera línea.
+     * @throws IOException Si el archivo no existe o no se puede leer.
+     */
+    public static CsvTokenizer open(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        if (Files.size(path) > Integer.MAX_VALUE) {
+            throw new IOException("Archivo demasiado grande para leer: " + filePath);
+        }
+        return new CsvTokenizer(ByteBuffer.wrap(Files.readAllBytes(path)));
+    }
+
+    /**
+     * Crea un tokenizador para una sola línea CSV ya leída.
+     *
+     * @param csvLine La línea CSV.
+     * @return Un tokenizador posicionado en esa línea.
+     */
+    public static CsvTokenizer ofLine(String csvLine) {
+        return ofLine(csvLine.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Crea un tokenizador para una sola línea CSV ya leída, a partir de sus bytes UTF-8.
+     *
+     * @param csvLine Los bytes de la línea CSV.
+     * @return Un tokenizador posicionado en esa línea.
+     */
+    public static CsvTokenizer ofLine(byte[] csvLine) {
+        CsvTokenizer tokenizer = new CsvTokenizer(ByteBuffer.wrap(csvLine));
+        tokenizer.nextLine();
+        return tokenizer;
+    }
+
+    /**
+     * Avanza a la siguiente línea no vacía.
+     *
+     * @return true si hay una línea disponible, false si se llegó al final del archivo.
+     */
+    public boolean nextLine() {
+        int limit = buffer.limit();
+        while (nextLineStart < limit) {
+            int start = nextLineStart;
+            int end = start;
+            while (end < limit && buffer.get(end) != '\n') {
+                end++;
+            }
+            nextLineStart = end + 1;
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;  // Archivos con saltos de línea de Windows
+            }
+            if (end > start) {
+                lineStart = start;
+                lineEnd = end;
+                position = start;
+                return true;
+            }
+        }
+        lineStart = lineEnd = position = limit;
+        return false;
+    }
+
+    /**
+     * Se posiciona en la línea que comienza en el desplazamiento indicado, por ejemplo
+     * uno obtenido antes con {@link #currentLineStart()}.
+     *
+     * @param offset El desplazamiento en bytes del inicio de la línea.
+     * @return true si hay una línea en esa posición, false si está fuera del archivo.
+     */
+    public boolean seekLine(int offset) {
+        nextLineStart = offset;
+        return nextLine();
+    }
+
+    /**
+     * Devuelve el desplazamiento en bytes donde comienza la línea actual.
+     *
+     * @return El desplazamiento del inicio de la línea actual.
+     */
+    public int currentLineStart() {
+        return lineStart;
+    }
+
+    /**
+     * Devuelve la cantidad de bytes de la línea actual, sin el salto de línea.
+     *
+     * @return El largo de la línea actual.
+     */
+    public int currentLineLength() {
+        return lineEnd - lineStart;
+    }
+
+    /**
+     * Verifica si quedan campos por leer en la línea actual.
+     *
+     * @return true si quedan campos, false si ya se leyó toda la línea.
+     */
+    public boolean hasMoreFields() {
+        return position < lineEnd;
+    }
+
+    /**
+     * Lee el siguiente campo de texto separado por coma.
+     *
+     * @return El texto del campo decodificado como UTF-8.
+     */
+    public String nextString() {
+        return nextString(FIELD_SEPARATOR);
+    }
+
+    /**
+     * Lee el siguiente campo de texto hasta el separador indicado o el fin de la línea.
+     *
+     * @param separator El carácter que termina el campo.
+     * @return El texto del campo decodificado como UTF-8.
+     */
+    public String nextString(char separator) {
+        int length = copyField(separator);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lee el siguiente campo de texto separado por coma, compartiendo la instancia
+     * si el texto ya está en el diccionario.
+     *
+     * @param dictionary El diccionario de textos repetidos.
+     * @return El texto del campo.
+     */
+    public String nextString(StringDictionary dictionary) {
+        return nextString(FIELD_SEPARATOR, dictionary);
+    }
+
+    /**
+     * Lee el siguiente campo de texto hasta el separador indicado, compartiendo la
+     * instancia si el texto ya está en el diccionario.
+     *
+     * @param separator El carácter que termina el campo.
+     * @param dictionary El diccionario de textos repetidos.
+     * @return El texto del campo.
+     */
+    public String nextString(char separator, StringDictionary dictionary) {
+        int length = copyField(separator);
+        return dictionary.intern(scratch, 0, length);
+    }
+
+    /**
+     * Lee el siguiente campo de texto hasta el separador indicado sin los espacios
+     * de los extremos (como {@link String#trim()}), compartiendo la instancia si el
+     * texto ya está en el diccionario. Los espacios se quitan de los bytes antes de
+     * buscar, para que los campos con relleno también se compartan.
+     *
+     * @param separator El carácter que termina el campo.
+     * @param dictionary El diccionario de textos repetidos.
+     * @return El texto del campo sin espacios en los extremos.
+     */
+    public String nextTrimmedString(char separator, StringDictionary dictionary) {
+        int end = copyField(separator);
+        int start = 0;
+        while (start < end && (scratch[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (scratch[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+        return dictionary.intern(scratch, start, end - start);
+    }
+
+    /**
+     * Lee el siguiente campo entero separado por coma, directo desde los bytes.
+     *
+     * @return El valor entero del campo.
+     * @throws NumberFormatException Si el campo no es un número entero válido.
+     */
+    public int nextInt() {
+        return nextInt(FIELD_SEPARATOR);
+    }
+
+    /**
+     * Lee el siguiente campo entero hasta el separador indicado, directo desde los bytes.
+     * Se ignoran los espacios al inicio y al final del campo.
+     *
+     * @param separator El carácter que termina el campo.
+     * @return El valor entero del campo.
+     * @throws NumberFormatException Si el campo no es un número entero válido.
+     */
+    public int nextInt(char separator) {
+        int start = position;
+        int end = fieldEnd(separator);
+        while (start < end && buffer.get(start) == ' ') {
+            start++;
+        }
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+        boolean negative = start < end && buffer.get(start) == '-';
+        int i = negative || (start < end && buffer.get(start) == '+') ? start + 1 : start;
+        if (i >= end) {
+            throw invalidNumber(start, end);
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalidNumber(start, end);
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw invalidNumber(start, end);
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw invalidNumber(start, end);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Lee el siguiente campo booleano separado por coma, directo desde los bytes.
+     * Igual que {@link Boolean#parseBoolean(String)}, solo "true" (sin importar
+     * mayúsculas) se interpreta como verdadero.
+     *
+     * @return El valor booleano del campo.
+     */
+    public boolean nextBoolean() {
+        int start = position;
+        int end = fieldEnd(FIELD_SEPARATOR);
+        if (end - start != 4) {
+            return false;
+        }
+        return (buffer.get(start) | 0x20) == 't' && (buffer.get(start + 1) | 0x20) == 'r'
+            && (buffer.get(start + 2) | 0x20) == 'u' && (buffer.get(start + 3) | 0x20) == 'e';
+    }
+
+    /**
+     * Devuelve la línea actual completa, útil para mensajes de error.
+     *
+     * @return El texto de la línea actual.
+     */
+    public String currentLine() {
+        byte[] line = new byte[lineEnd - lineStart];
+        buffer.get(lineStart, line, 0, line.length);
+        return new String(line, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Método auxiliar que copia los bytes del siguiente campo al arreglo reutilizable y devuelve su largo.
+     */
+    private int copyField(char separator) {
+        int start = position;
+        int end = fieldEnd(separator);
+        int length = end - start;
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(start, scratch, 0, length);
+        return length;
+    }
+
+    /**
+     * Método auxiliar que ubica el fin del campo actual y avanza la posición al siguiente campo.
+     */
+    private int fieldEnd(char separator) {
+        int end = position;
+        while (end < lineEnd && buffer.get(end) != separator) {
+            end++;
+        }
+        position = end < lineEnd ? end + 1 : lineEnd;
+        return end;
+    }
+
+    /**
+     * Método auxiliar que crea la excepción para un campo numérico inválido.
+     */
+    private NumberFormatException invalidNumber(int start, int end) {
+        byte[] field = new byte[end - start];
+        buffer.get(start, field, 0, field.length);
+        return new NumberFormatException("For input string: \"" + new String(field, StandardCharsets.UTF_8) + "\"");
+    }
+
+    /**
+     * Método auxiliar que detecta la marca BOM de UTF-8 al inicio del contenido.
+     */
+    private static boolean hasBom(ByteBuffer buffer) {
+        return buffer.limit() >= 3 && (buffer.get(0) & 0xFF) == 0xEF
+            && (buffer.get(1) & 0xFF) == 0xBB && (buffer.get(2) & 0xFF) == 0xBF;
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Enum DataFile
+ *
+ * Enumera los archivos CSV donde el sistema guarda cada lista de entidades.
+ * Se usa para marcar qué listas cambiaron (dirty) y reescribir solo esos archivos.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+public enum DataFile {
+    ANIMALS("animals.csv"),
+    VOLUNTEERS("volunteers.csv"),
+    ADOPTION_CANDIDATES("adoption_candidates.csv"),
+    ADOPTIONS("adoptions.csv"),
+    RESOURCES("resources.csv"),
+    TASKS("tasks.csv"),
+    MEDICAL_HISTORIES("medical_histories.csv"),
+    RESOURCE_LEDGER("resource_ledger.csv");
+
+    private final String fileName;  // Nombre del archivo CSV
+
+    DataFile(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * Obtiene el nombre del archivo CSV.
+     *
+     * @return El nombre del archivo CSV.
+     */
+    public String getFileName() {
+        return fileName;
+    }
+}
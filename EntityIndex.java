@@ -0,0 +1,33 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Interfaz EntityIndex
+ *
+ * Define la búsqueda y el registro de entidades por su ID. La implementan
+ * EntityRegistry (índice de objetos) y AnimalStore (almacén compacto de animales),
+ * de modo que la carga de los CSV funciona con cualquiera de los dos.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+public interface EntityIndex<T> {
+
+    /**
+     * Busca una entidad por su ID.
+     *
+     * @param id El ID de la entidad a buscar.
+     * @return La entidad con ese ID, o null si no está registrada.
+     */
+    T findById(int id);
+
+    /**
+     * Registra una entidad. Si ya existía una entidad con el mismo ID, se reemplaza.
+     *
+     * @param entity La entidad a registrar.
+     */
+    void register(T entity);
+}
@@ -0,0 +1,134 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase EntityRegistry
+ *
+ * La clase EntityRegistry es un índice por ID (int) para las entidades del albergue.
+ * Usa una tabla hash de direccionamiento abierto con llaves primitivas, de modo que
+ * las búsquedas por ID durante la carga de CSV y en los menús son O(1) y no
+ * requieren recorrer la lista completa ni crear objetos Integer.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+public class EntityRegistry<T> implements EntityIndex<T> {
+    private static final int INITIAL_CAPACITY = 16;  // Capacidad inicial (potencia de 2)
+
+    private final ToIntFunction<T> idExtractor;      // Función que obtiene el ID de la entidad
+    private int[] keys;                              // IDs registrados
+    private Object[] values;                         // Entidades (null indica casilla libre)
+    private int size;                                // Cantidad de entidades registradas
+
+    /**
+     * Constructor que crea un registro vacío.
+     *
+     * @param idExtractor La función que obtiene el ID de cada entidad (por ejemplo {@code Animal::getId}).
+     */
+    public EntityRegistry(ToIntFunction<T> idExtractor) {
+        this.idExtractor = idExtractor;
+        this.keys = new int[INITIAL_CAPACITY];
+        this.values = new Object[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Construye un registro a partir de una lista de entidades ya cargadas.
+     *
+     * @param entities La lista de entidades a registrar.
+     * @param idExtractor La función que obtiene el ID de cada entidad.
+     * @return Un registro que contiene todas las entidades de la lista.
+     */
+    public static <T> EntityRegistry<T> fromList(List<T> entities, ToIntFunction<T> idExtractor) {
+        EntityRegistry<T> registry = new EntityRegistry<>(idExtractor);
+        for (T entity : entities) {
+            registry.register(entity);
+        }
+        return registry;
+    }
+
+    /**
+     * Registra una entidad. Si ya existía una entidad con el mismo ID, se reemplaza.
+     *
+     * @param entity La entidad a registrar.
+     */
+    @Override
+    public void register(T entity) {
+        if (entity == null) {
+            return;
+        }
+        if ((size + 1) * 4 > values.length * 3) {  // Mantener factor de carga menor a 0.75
+            resize(values.length * 2);
+        }
+        int id = idExtractor.applyAsInt(entity);
+        int slot = findSlot(keys, values, id);
+        if (values[slot] == null) {
+            size++;
+        }
+        keys[slot] = id;
+        values[slot] = entity;
+    }
+
+    /**
+     * Busca una entidad por su ID.
+     *
+     * @param id El ID de la entidad a buscar.
+     * @return La entidad con ese ID, o null si no está registrada.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T findById(int id) {
+        return (T) values[findSlot(keys, values, id)];
+    }
+
+    /**
+     * Devuelve la cantidad de entidades registradas.
+     *
+     * @return La cantidad de entidades registradas.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Método auxiliar que ubica la casilla de un ID (o la casilla libre donde iría).
+     */
+    private static int findSlot(int[] keys, Object[] values, int id) {
+        int mask = values.length - 1;
+        int slot = mix(id) & mask;
+        while (values[slot] != null && keys[slot] != id) {
+            slot = (slot + 1) & mask;  // Sondeo lineal
+        }
+        return slot;
+    }
+
+    /**
+     * Método auxiliar que dispersa los bits del ID, ya que los IDs suelen ser consecutivos.
+     */
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Método auxiliar que duplica la tabla y reubica las entidades registradas.
+     */
+    private void resize(int newCapacity) {
+        int[] newKeys = new int[newCapacity];
+        Object[] newValues = new Object[newCapacity];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                int slot = findSlot(newKeys, newValues, keys[i]);
+                newKeys[slot] = keys[i];
+                newValues[slot] = values[i];
+            }
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+}
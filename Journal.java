@@ -0,0 +1,273 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase Journal
+ *
+ * La clase Journal es una bitácora de solo escritura al final (write-ahead log)
+ * donde se anota cada cambio realizado en el sistema. En lugar de reescribir todos
+ * los archivos CSV en cada guardado, cada cambio agrega una línea compacta a la
+ * bitácora; la compactación vuelca periódicamente los datos a los CSV base y
+ * marca hasta qué entrada quedan incluidos (checkpoint).
+ *
+ * Para que los CSV y el checkpoint cambien juntos, antes de reemplazar los CSV se
+ * anota en un archivo de compactación pendiente la secuencia que incluyen y la lista
+ * de archivos. Si el programa se interrumpe a mitad de los reemplazos, al iniciar se
+ * terminan de reemplazar los archivos preparados y se guarda esa secuencia, de modo
+ * que ninguna entrada se vuelve a aplicar sobre archivos que ya la incluyen.
+ *
+ * Formato de cada línea: secuencia|TIPO|datos
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Journal {
+    private final Path logPath;         // Archivo de la bitácora
+    private final Path checkpointPath;  // Archivo con la última secuencia incluida en los CSV base
+    private final Path pendingPath;     // Compactación en curso: secuencia y archivos a reemplazar
+    private FileChannel channel;        // Archivo abierto en modo agregar
+    private long checkpoint;            // Última secuencia incluida en los CSV base
+    private long lastSequence;          // Última secuencia escrita en la bitácora
+    private int pendingEntries;         // Entradas posteriores al checkpoint
+
+    /**
+     * Representa una entrada de la bitácora.
+     */
+    public static class Entry {
+        private final long sequence;
+        private final String type;
+        private final String payload;
+
+        private Entry(long sequence, String type, String payload) {
+            this.sequence = sequence;
+            this.type = type;
+            this.payload = payload;
+        }
+
+        /**
+         * @return El número de secuencia de la entrada.
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * @return El tipo de cambio registrado (por ejemplo ANIMAL o ADOPTION).
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * @return Los datos del cambio, normalmente en formato CSV.
+         */
+        public String getPayload() {
+            return payload;
+        }
+    }
+
+    /**
+     * Constructor que asocia la bitácora a un archivo. No abre el archivo hasta leerlo o escribir en él.
+     *
+     * @param filePath La ruta del archivo de la bitácora.
+     */
+    public Journal(String filePath) {
+        this.logPath = Paths.get(filePath);
+        this.checkpointPath = Paths.get(filePath + ".checkpoint");
+        this.pendingPath = Paths.get(filePath + ".pending");
+    }
+
+    /**
+     * Termina una compactación interrumpida: reemplaza los CSV cuyo temporal quedó
+     * preparado y guarda la secuencia que incluyen. Debe llamarse antes de cargar los CSV.
+     *
+     * @return true si había una compactación pendiente, false si no.
+     * @throws IOException Si ocurre un error al reemplazar los archivos o guardar el checkpoint.
+     */
+    public synchronized boolean recover() throws IOException {
+        if (!Files.exists(pendingPath)) {
+            return false;
+        }
+        List<String> lines = Files.readAllLines(pendingPath, StandardCharsets.UTF_8);
+        long sequence;
+        try {
+            sequence = Long.parseLong(lines.get(0).trim());
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            Files.delete(pendingPath);  // Aviso incompleto: los CSV no se llegaron a reemplazar
+            return false;
+        }
+        for (String fileName : lines.subList(1, lines.size())) {
+            if (AtomicFileWriter.isPrepared(fileName)) {
+                AtomicFileWriter.commit(fileName);
+            }
+        }
+        AtomicFileWriter.writeLines(List.of(Long.toString(sequence)), checkpointPath.toString(), line -> line);
+        Files.delete(pendingPath);
+        return true;
+    }
+
+    /**
+     * Anota que los CSV indicados, ya preparados con {@code AtomicFileWriter.prepare},
+     * incluyen las entradas hasta la secuencia indicada. Debe llamarse antes de
+     * reemplazarlos; {@link #checkpoint(long)} borra el aviso al terminar.
+     *
+     * @param sequence La última secuencia incluida en los CSV preparados.
+     * @param fileNames Los archivos que se van a reemplazar.
+     * @throws IOException Si ocurre un error al escribir el aviso.
+     */
+    public synchronized void beginCheckpoint(long sequence, List<String> fileNames) throws IOException {
+        List<String> lines = new ArrayList<>(fileNames.size() + 1);
+        lines.add(Long.toString(sequence));
+        lines.addAll(fileNames);
+        AtomicFileWriter.writeLines(lines, pendingPath.toString(), line -> line);
+    }
+
+    /**
+     * Lee las entradas de la bitácora que todavía no están incluidas en los CSV base.
+     * Una última línea incompleta (por ejemplo, por un cierre inesperado) se ignora.
+     *
+     * @return La lista de entradas pendientes en orden.
+     * @throws IOException Si ocurre un error al leer la bitácora.
+     */
+    public synchronized List<Entry> readPendingEntries() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        checkpoint = readCheckpoint();
+        lastSequence = checkpoint;
+        if (Files.exists(logPath)) {
+            try (BufferedReader reader = Files.newBufferedReader(logPath, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int first = line.indexOf('|');
+                    int second = first < 0 ? -1 : line.indexOf('|', first + 1);
+                    if (second < 0) {
+                        continue;  // Línea incompleta
+                    }
+                    long sequence;
+                    try {
+                        sequence = Long.parseLong(line.substring(0, first));
+                    } catch (NumberFormatException e) {
+                        continue;  // Línea dañada
+                    }
+                    lastSequence = Math.max(lastSequence, sequence);
+                    if (sequence > checkpoint) {
+                        entries.add(new Entry(sequence, line.substring(first + 1, second), line.substring(second + 1)));
+                    }
+                }
+            }
+        }
+        pendingEntries = entries.size();
+        return entries;
+    }
+
+    /**
+     * Agrega una entrada al final de la bitácora y espera a que llegue al disco,
+     * igual que {@code AtomicFileWriter} con los archivos que reemplaza.
+     *
+     * @param type El tipo de cambio (por ejemplo ANIMAL o ADOPTION).
+     * @param payload Los datos del cambio, sin saltos de línea.
+     * @throws IOException Si ocurre un error al escribir en la bitácora.
+     */
+    public synchronized void append(String type, String payload) throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        ByteBuffer line = ByteBuffer.wrap((lastSequence + 1 + "|" + type + "|" + payload + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            channel.write(line);
+        }
+        channel.force(false);
+        lastSequence++;
+        pendingEntries++;
+    }
+
+    /**
+     * Devuelve la cantidad de entradas que todavía no están incluidas en los CSV base.
+     *
+     * @return La cantidad de entradas pendientes de compactar.
+     */
+    public synchronized int getPendingEntries() {
+        return pendingEntries;
+    }
+
+    /**
+     * Devuelve la última secuencia incluida en los CSV base, leída con {@link #readPendingEntries()}.
+     *
+     * @return La secuencia del checkpoint.
+     */
+    public synchronized long getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Devuelve la secuencia de la última entrada escrita en la bitácora.
+     *
+     * @return La última secuencia escrita.
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Marca las entradas hasta la secuencia indicada como incluidas en los CSV base.
+     * Debe llamarse después de guardar los CSV. Si no se escribieron entradas
+     * posteriores, la bitácora se vacía; si no, se conservan y al cargar se omiten
+     * las ya incluidas.
+     *
+     * @param sequence La última secuencia incluida en los CSV guardados.
+     * @throws IOException Si ocurre un error al escribir el checkpoint o vaciar la bitácora.
+     */
+    public synchronized void checkpoint(long sequence) throws IOException {
+        // Primero se guarda el checkpoint: si el proceso se interrumpe antes de vaciar
+        // la bitácora, las entradas ya incluidas se ignoran al volver a cargar.
+        AtomicFileWriter.writeLines(List.of(Long.toString(sequence)), checkpointPath.toString(), line -> line);
+        checkpoint = sequence;
+        Files.deleteIfExists(pendingPath);  // La compactación terminó
+
+        if (sequence == lastSequence) {
+            close();
+            Files.write(logPath, new byte[0]);
+        }
+        pendingEntries = (int) (lastSequence - sequence);
+    }
+
+    /**
+     * Cierra el archivo de la bitácora si está abierto.
+     *
+     * @throws IOException Si ocurre un error al cerrar el archivo.
+     */
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Método auxiliar que lee la última secuencia incluida en los CSV base.
+     */
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointPath)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(checkpointPath), StandardCharsets.UTF_8).trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -11,17 +11,30 @@
  * 
  * @author Daniela Navas
  * Fecha de creación: 16/09/2024
- * Última modificación: 13/11/2024
+ * Última modificación: 18/10/2026
  */
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.InputMismatchException;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class Main {
     private List<Animal> animals;                       // Lista de animales del albergue
@@ -29,17 +42,72 @@ public class Main {
     private List<Adoption> adoptions;                   // Lista de adopciones realizadas
     private List<Resource> resources;                   // Lista de recursos del albergue
     private List<Task> tasks;                           // Lista de tareas para los voluntarios
-    private List<MedicalHistory> histories;             // Lista de historiales médicos en el sistema
+    private MedicalHistoryStore histories;              // Historiales médicos en el sistema
     private List<AdoptionCandidate> adoptionCandidates; // Lista de Adoptantes en el sistema
+    private EntityIndex<Animal> animalRegistry;                      // Índice de animales por ID
+    private EntityRegistry<Volunteer> volunteerRegistry;             // Índice de voluntarios por ID
+    private EntityRegistry<AdoptionCandidate> candidateRegistry;     // Índice de adoptantes por ID
+    private AdoptionIndex adoptionIndex;                             // Índice de adopciones por fecha, adoptante y animal
+    private AdoptionCube adoptionCube;                               // Conteos de adopciones por mes, raza, peligrosidad y voluntario
+    private VolunteerTaskIndex volunteerTasks;                       // Índice de tareas por voluntario y estado
+    private ResourceNameIndex resourceNames;                         // Índice de recursos por nombre
+    private ResourceLedger resourceLedger;                           // Historial de cantidades de cada recurso
+    private SearchIndex searchIndex;                                 // Índice de texto de descripciones y registros médicos
+    private NameIndex<Animal> animalNames;                           // Índice de trigramas de nombres de animales
+    private NameIndex<AdoptionCandidate> candidateNames;             // Índice de trigramas de nombres de adoptantes
+    private NameIndex<Volunteer> volunteerNames;                     // Índice de trigramas de nombres de voluntarios
+    private ShelterStats stats;                                      // Totales de los reportes, actualizados con cada cambio
+    private AnimalStatusIndex statusIndex;                           // Índice de animales por estado de adopción y peligro
     private Report report;                              // Referencia al objeto Report para generar informes
     private MainPage mainPage;                          // Referencia a la clase MainPage para navegar en el sistema
 
+    private Journal journal;                             // Bitácora de cambios (modo journal)
+    private final Set<DataFile> dirtyFiles = EnumSet.noneOf(DataFile.class);  // Archivos con cambios sin guardar
+    private boolean unjournaledChanges;                  // true si algún cambio sin guardar no quedó en la bitácora
+    private long replayStoppedAfter = -1;                // Última secuencia aplicada si la bitácora no se aplicó completa (-1 si se aplicó)
+    private final Object stateLock = new Object();       // Protege los datos entre el menú y el guardado automático
+    private final Object saveLock = new Object();        // Evita dos guardados al mismo tiempo
+    private AutosaveScheduler autosave;                  // Guardado automático en segundo plano
+    private final ReportCache reportCache =              // Informes ya generados, descartados cuando cambian sus listas
+        new ReportCache(REPORT_CACHE_ENTRIES);
+
+    private static final int LOAD_THREADS = 4;          // Máximo de hilos para la carga inicial de archivos
+    private static final boolean JOURNAL_MODE =         // Registrar cambios en bitácora en vez de reescribir los CSV
+        Boolean.parseBoolean(System.getProperty("albergue.journal", "false"));
+    private static final String JOURNAL_FILE = "journal.log";  // Archivo de la bitácora de cambios
+    private static final int JOURNAL_COMPACTION_THRESHOLD = 500;  // Entradas de bitácora antes de compactar
+    private static final boolean SNAPSHOT_MODE =        // Usar el snapshot binario para animales e historiales
+        Boolean.parseBoolean(System.getProperty("albergue.snapshot", "false"));
+    private static final String SNAPSHOT_FILE = "snapshot.bin";  // Snapshot binario de animales e historiales
+    private static final boolean LAZY_HISTORIES =       // Leer cada historial médico solo cuando se consulta
+        Boolean.parseBoolean(System.getProperty("albergue.lazyHistories", "false"));
+    private static final boolean AUTOSAVE_MODE =        // Guardar automáticamente en segundo plano
+        Boolean.parseBoolean(System.getProperty("albergue.autosave", "false"));
+    private static final long AUTOSAVE_QUIET_MS =       // Milisegundos sin cambios antes del guardado automático
+        Long.getLong("albergue.autosave.quietMs", 2_000);
+    private static final long AUTOSAVE_MAX_MS =         // Milisegundos máximos que un cambio espera a guardarse
+        Long.getLong("albergue.autosave.maxMs", 30_000);
+    private static final boolean COMPACT_ANIMALS =      // Guardar los animales en arreglos (AnimalStore)
+        Boolean.parseBoolean(System.getProperty("albergue.compactAnimals", "false"));
+    private static final boolean PARALLEL_REPORTS =     // Calcular los totales de los informes en paralelo
+        Boolean.parseBoolean(System.getProperty("albergue.parallelReports", "false"));
+    private static final int REPORT_CACHE_ENTRIES =     // Máximo de informes en la caché (0 la desactiva)
+        Integer.getInteger("albergue.reportCache", 32);
+    private static final int SEARCH_RESULTS = 20;       // Máximo de resultados que muestra la búsqueda
+    private static final int NAME_RESULTS = 5;          // Máximo de resultados por tipo en la búsqueda por nombre
+    private static final String REPORTS_ARGUMENT = "--reportes";  // Argumento para generar todos los informes y salir
+    private static final String REPORTS_DIRECTORY = "reportes";   // Directorio de los informes si no se indica otro
+
     /**
      * Método principal que inicia el programa.
     * @param args Argumentos de la línea de comandos.
     */
     public static void main(String[] args) {
         Main program = new Main();               // Crea una instancia de Main
+        if (args.length > 0 && args[0].equals(REPORTS_ARGUMENT)) {
+            // Modo por lotes: generar todos los informes en un directorio, sin mostrar el menú
+            System.exit(program.writeAllReports(args.length > 1 ? args[1] : REPORTS_DIRECTORY) ? 0 : 1);
+        }
         program.run();                           // Llama al método que controla el flujo del programa
     }
 
@@ -49,7 +117,12 @@ public class Main {
      */
     public Main() {
         this.loadAllData();     // Cargar toda la data desde los CSV
-        this.report = new Report(animals, volunteers, resources, tasks, adoptionCandidates, adoptions);  // Crea el objeto Report
+        if (AUTOSAVE_MODE) {
+            this.autosave = new AutosaveScheduler(this::autosave, AUTOSAVE_QUIET_MS, AUTOSAVE_MAX_MS);
+        }
+        this.report = new Report(animals, volunteers, resources, tasks, adoptionCandidates, adoptions, adoptionIndex, adoptionCube, resourceLedger, statusIndex, stats);  // Crea el objeto Report
+        this.report.setParallel(PARALLEL_REPORTS);
+        this.report.setCache(reportCache);
         this.mainPage = new MainPage(report);  // Crea el objeto MainPage para la navegación
     }
 
@@ -81,7 +154,18 @@ public class Main {
                 sc.nextLine();  // Limpia el buffer en caso de excepción
             }
             
-        } while (option != 14);  // Repite mientras no se elija la opción de salir (12)
+        } while (option != 18);  // Repite mientras no se elija la opción de salir (18)
+
+        if (autosave != null) {
+            autosave.shutdown();  // Esperar a que termine un guardado automático en curso
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.out.println("No se pudo cerrar " + JOURNAL_FILE + ": " + e.getMessage());
+            }
+        }
     }
 
 
@@ -132,7 +216,10 @@ public class Main {
 
             // Crear y agregar el nuevo animal a la lista
             Animal animal = new Animal(name, breed, description, age, false, dangerLevel);
-            animals.add(animal);
+            synchronized (stateLock) {
+                applyAddAnimal(animal);
+                recordChange("ANIMAL", animal.toCSV());
+            }
             System.out.println(" ");
             System.out.println("==================================");
             System.out.println("== Animal agregado exitosamente ==");
@@ -173,7 +260,10 @@ public class Main {
 
             // Crear y agregar el nuevo voluntario a la lista
             Volunteer volunteer = new Volunteer(name, contactInfo, 0);
-            volunteers.add(volunteer);
+            synchronized (stateLock) {
+                applyAddVolunteer(volunteer);
+                recordChange("VOLUNTEER", volunteer.toCSV());
+            }
             System.out.println(" ");
             System.out.println("======================================");
             System.out.println("== Voluntario agregado exitosamente ==");
@@ -278,7 +368,10 @@ public class Main {
     
             AdoptionCandidate adopter = new AdoptionCandidate(adopterName, adopterContactInfo, reasonForAdoption, hasPetExperience, additionalExperience, volunteer);
             
-            adoptionCandidates.add(adopter);
+            synchronized (stateLock) {
+                applyAddAdopter(adopter);
+                recordChange("ADOPTER", adopter.toCSV());
+            }
             System.out.println(" ");
             System.out.println("======================================");
             System.out.println("== Adoptante agregado exitosamente ==");
@@ -380,16 +473,10 @@ public class Main {
 
             // Registrar la adopción
             Adoption adoption = new Adoption(animal, volunteer, adoptionDate, adopter);
-            adoptions.add(adoption);
-            
-            // Agregar el animal a la lista de animales adoptados por el adoptante
-            adopter.addAnimal(animal);
-
-            // Agregar el volunteer relacionado con el adoptante.
-            adopter.setVolunteer(volunteer);
-
-            // Marcar al animal como adoptado
-            animal.setAdopted(true);
+            synchronized (stateLock) {
+                applyAdoption(adoption);
+                recordChange("ADOPTION", adoption.toCSV());
+            }
 
             System.out.println(" ");
             System.out.println("======================================");
@@ -435,19 +522,22 @@ public class Main {
             System.out.print("Cantidad: ");
             int quantity = Integer.parseInt(sc.nextLine());
 
-            // Verificar si el recurso ya existe
-            boolean resourceExists = false;
+            // Verificar si el recurso ya existe (sin distinguir mayúsculas)
+            int position = resourceNames.positionOf(resourceName);
+            boolean resourceExists = position >= 0;
             
-            for (Resource existingResource : resources) {
-                if (existingResource.getResourceName().equalsIgnoreCase(resourceName)) {
-                    // Si el recurso ya existe, actualizar la cantidad
-                    existingResource.updateQuantity(existingResource.getQuantity() + quantity);
-                    resourceExists = true;
-                    if(existingResource.checkAlert() != null){
-                        System.out.println(" ");
-                        System.out.println(existingResource.checkAlert());
-                    }
-                    break;  // Salir del bucle ya que se encontró el recurso
+            if (resourceExists) {
+                // Si el recurso ya existe, actualizar la cantidad
+                Resource existingResource = resources.get(position);
+                int newQuantity = existingResource.getQuantity() + quantity;
+                LocalDate today = LocalDate.now();
+                synchronized (stateLock) {
+                    applyResourceQuantity(existingResource, newQuantity, today);
+                    recordChange("RESOURCE_QTY", position + "," + newQuantity + "," + today + "," + existingResource.getResourceName());
+                }
+                if(existingResource.checkAlert() != null){
+                    System.out.println(" ");
+                    System.out.println(existingResource.checkAlert());
                 }
             }
 
@@ -456,7 +546,11 @@ public class Main {
                 System.out.print("Descripción del recurso: ");
                 String description = sc.nextLine();
                 Resource newResource = new Resource(resourceName, quantity, description);
-                resources.add(newResource);
+                LocalDate today = LocalDate.now();
+                synchronized (stateLock) {
+                    applyAddResource(newResource, today);
+                    recordChange("RESOURCE", newResource.toCSV() + "," + today);
+                }
                 if(newResource.checkAlert() != null){
                     System.out.println(" ");
                     System.out.println(newResource.checkAlert());
@@ -521,7 +615,10 @@ public class Main {
         Volunteer volunteer = findVolunteerById(volunteerId);
         if (volunteer != null) {
             Task newTask = new Task(name, description, false, volunteer);
-            tasks.add(newTask);
+            synchronized (stateLock) {
+                applyAddTask(newTask);
+                recordChange("TASK", newTask.toCSV());
+            }
             System.out.println(" ");
             System.out.println("=================================");
             System.out.println("== Tarea agregada exitosamente ==");
@@ -590,10 +687,11 @@ public class Main {
                     System.out.print("Ingrese las horas trabajadas en la tarea: ");
                     int hoursWorked = Integer.parseInt(sc.nextLine());
     
-                    // Sumar las horas trabajadas al voluntario
-                    volunteer.addHours(hoursWorked);
-                    selectedTask.setVolunteer(volunteer);
-                    selectedTask.completeTask();
+                    // Sumar las horas trabajadas al voluntario y completar la tarea
+                    synchronized (stateLock) {
+                        applyCompleteTask(selectedTask, volunteer, hoursWorked);
+                        recordChange("TASK_DONE", (taskNumber - 1) + "," + volunteer.getId() + "," + hoursWorked + "," + selectedTask.getTaskName());
+                    }
 
                     System.out.println(" ");
                     System.out.println("=================================");
@@ -682,20 +780,12 @@ public class Main {
             System.out.print("Ingrese el nombre del veterinario: ");
             String veterinarian = sc.nextLine();
 
-            // Crear un nuevo registro médico
+            // Crear un nuevo registro médico y agregarlo al historial médico del animal
             MedicalRecord newRecord = new MedicalRecord(recordDate, description, treatment, veterinarian);
-
-            // Obtener el historial médico del animal
-            MedicalHistory medicalHistory = findMedicalHistoryByAnimal(animal);
-
-            // Si no existe historial médico, crear uno nuevo
-            if (medicalHistory == null) {
-                medicalHistory = new MedicalHistory(animal);
-                histories.add(medicalHistory); // Añadirlo a la lista de historiales
+            synchronized (stateLock) {
+                applyMedicalRecord(animal, newRecord);
+                recordChange("MEDICAL", animal.getId() + "," + newRecord.toCSV());
             }
-
-            // Agregar el nuevo registro al historial médico del animal
-            medicalHistory.addRecord(newRecord);
             System.out.println(" ");
             System.out.println("========================================");
             System.out.println("= Registro médico añadido exitosamente =");
@@ -832,6 +922,134 @@ public class Main {
         }
     }    
 
+    /**
+     * Genera todos los informes del lote en un directorio, recorriendo cada lista una
+     * sola vez, y muestra los archivos escritos o el error.
+     *
+     * @param directory El directorio de salida.
+     * @return true si se escribieron todos los informes.
+     */
+    public boolean writeAllReports(String directory) {
+        try {
+            List<Path> files;
+            synchronized (stateLock) {
+                files = ReportBatch.withDefaultReports().run(animals, adoptionCandidates, adoptions, tasks, resources, directory);
+            }
+            for (Path file : files) {
+                System.out.println("Informe generado: " + file);
+            }
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error al generar los informes: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Busca palabras en las descripciones de los animales y en la descripción y el
+     * tratamiento de los registros médicos. No distingue mayúsculas ni tildes, y cada
+     * palabra también encuentra las que comienzan con ella. Muestra los resultados
+     * más relevantes primero.
+     *
+     * @param sc El objeto utilizado para la entrada del usuario.
+     */
+    public void search(Scanner sc) {
+        System.out.println(" ");
+        System.out.println("==================================");
+        System.out.println("===     BUSCAR POR PALABRAS    ===");
+        System.out.println("==================================");
+        System.out.println(" ");
+        System.out.print("Palabras a buscar: ");
+        String query = sc.nextLine();
+
+        long start = System.nanoTime();
+        List<SearchIndex.Result> results = searchIndex.search(query, SEARCH_RESULTS);
+        long elapsed = System.nanoTime() - start;
+
+        if (results.isEmpty()) {
+            System.out.println(" ");
+            System.out.println("=======================================");
+            System.out.println("= No se encontraron coincidencias     =");
+            System.out.println("=======================================");
+            System.out.println(" ");
+            return;
+        }
+
+        System.out.println(" ");
+        System.out.println("=== Resultados (" + results.size() + ", " + formatMillis(elapsed) + ") ===");
+        System.out.println(" ");
+        for (SearchIndex.Result result : results) {
+            Animal animal = result.getAnimal();
+            MedicalRecord record = result.getRecord();
+            if (record == null) {
+                System.out.println("Animal: " + animal.getName() + " (ID: " + animal.getId() + ")"
+                    + " | Descripción: " + animal.getDescription());
+            } else {
+                System.out.println("Registro médico de " + animal.getName() + " (ID: " + animal.getId() + ")"
+                    + " | Fecha: " + record.getDate().format(DateTimeFormatter.ofPattern("dd/MM/yyyy"))
+                    + " | Descripción: " + record.getDescription()
+                    + " | Tratamiento: " + record.getTreatment());
+            }
+            System.out.println("--------------------------------");
+        }
+    }
+
+    /**
+     * Busca animales, adoptantes y voluntarios por nombre, tolerando nombres incompletos
+     * o con errores de escritura, para conocer su ID sin listar todos los registros.
+     *
+     * @param sc El objeto utilizado para la entrada del usuario.
+     */
+    public void searchByName(Scanner sc) {
+        System.out.println(" ");
+        System.out.println("==================================");
+        System.out.println("===     BUSCAR POR NOMBRE      ===");
+        System.out.println("==================================");
+        System.out.println(" ");
+        System.out.print("Nombre a buscar: ");
+        String query = sc.nextLine();
+
+        long start = System.nanoTime();
+        List<NameIndex.Match<Animal>> animalMatches = animalNames.search(query, NAME_RESULTS);
+        List<NameIndex.Match<AdoptionCandidate>> candidateMatches = candidateNames.search(query, NAME_RESULTS);
+        List<NameIndex.Match<Volunteer>> volunteerMatches = volunteerNames.search(query, NAME_RESULTS);
+        long elapsed = System.nanoTime() - start;
+
+        if (animalMatches.isEmpty() && candidateMatches.isEmpty() && volunteerMatches.isEmpty()) {
+            System.out.println(" ");
+            System.out.println("=======================================");
+            System.out.println("= No se encontraron coincidencias     =");
+            System.out.println("=======================================");
+            System.out.println(" ");
+            return;
+        }
+
+        System.out.println(" ");
+        System.out.println("=== Resultados (" + formatMillis(elapsed) + ") ===");
+        if (!animalMatches.isEmpty()) {
+            System.out.println("-- Animales --");
+            for (NameIndex.Match<Animal> match : animalMatches) {
+                Animal animal = match.getItem();
+                System.out.println("ID: " + animal.getId() + " | " + animal.getName() + " (" + animal.getBreed() + ")");
+            }
+        }
+        if (!candidateMatches.isEmpty()) {
+            System.out.println("-- Adoptantes --");
+            for (NameIndex.Match<AdoptionCandidate> match : candidateMatches) {
+                AdoptionCandidate candidate = match.getItem();
+                System.out.println("ID: " + candidate.getId() + " | " + candidate.getName() + " (" + candidate.getContactInfo() + ")");
+            }
+        }
+        if (!volunteerMatches.isEmpty()) {
+            System.out.println("-- Voluntarios --");
+            for (NameIndex.Match<Volunteer> match : volunteerMatches) {
+                Volunteer volunteer = match.getItem();
+                System.out.println("ID: " + volunteer.getId() + " | " + volunteer.getName() + " (" + volunteer.getContactInfo() + ")");
+            }
+        }
+        System.out.println(" ");
+    }
+
     /**
      * Muestra una lista numerada de recursos y permite al usuario seleccionar uno para actualizar su cantidad.
      * @param sc Scanner para leer la entrada del usuario.
@@ -876,7 +1094,11 @@ public class Main {
             int newQuantity = Integer.parseInt(sc.nextLine());
 
             // Se actualiza la cantidad (No se suma, solo se actualiza)
-            selectedResource.updateQuantity(newQuantity); 
+            LocalDate today = LocalDate.now();
+            synchronized (stateLock) {
+                applyResourceQuantity(selectedResource, newQuantity, today);
+                recordChange("RESOURCE_QTY", resourceIndex + "," + newQuantity + "," + today + "," + selectedResource.getResourceName());
+            }
 
             // Mostrar mensaje de alerta si la cantidad es baja
             String alertMessage = selectedResource.getAlertMessage();
@@ -909,27 +1131,17 @@ public class Main {
      * @return El objeto Animal con el ID correspondiente, o null si no se encuentra ningún animal con ese ID.
      */
     private Animal findAnimalById(int id) {
-        for (Animal animal : animals) {
-            if (animal.getId() == id) {
-                return animal;
-            }
-        }
-        return null;
+        return animalRegistry.findById(id);
     }
 
     /**
-     * Busca el historial médico asociado a un animal específico en la lista de historiales.
+     * Busca el historial médico asociado a un animal específico.
      *
      * @param animal El animal del que se busca historial médico
      * @return El historial médico asociado al animal, o null si no se encuentra ningún historial médico para el animal.
      */
     private MedicalHistory findMedicalHistoryByAnimal(Animal animal) {
-        for (MedicalHistory history : histories) {
-            if (history.getAnimal().equals(animal)) {
-                return history;
-            }
-        }
-        return null; // Retorna null si no se encuentra el historial médico
+        return histories.find(animal);
     }
 
     /**
@@ -939,51 +1151,32 @@ public class Main {
      * @return El objeto Volunteer con el ID correspondiente, o null si no se encuentra ningún voluntario con ese ID.
      */
     private Volunteer findVolunteerById(int id) {
-        for (Volunteer volunteer : volunteers) {
-            if (volunteer.getId() == id) {
-                return volunteer; // Retorna el voluntario encontrado
-            }
-        }
-        return null; // Retorna null si no se encuentra el voluntario
+        return volunteerRegistry.findById(id); // Retorna el voluntario encontrado o null
     }
 
     /**
      * Busca y retorna un candidato de adopción basado en su ID único.
-     * Recorre la lista de candidatos de adopción y compara el ID de cada
-     * candidato con el ID proporcionado.
+     * La búsqueda se realiza en el registro indexado por ID de los candidatos.
      *
      * @param id El ID único del candidato de adopción que se desea buscar.
      * @return El objeto AdoptionCandidate que coincide con el ID proporcionado,
      *         o null si no se encuentra ningún candidato con ese ID.
      */
     private AdoptionCandidate findAdopterById(int id) {
-        for (AdoptionCandidate adopter : adoptionCandidates) {  // asumiendo que tienes una lista de candidatos
-            if (adopter.getId() == id) {
-                return adopter;
-            }
-        }
-        return null;  // Retorna null si no se encuentra el adoptante
+        return candidateRegistry.findById(id);  // Retorna null si no se encuentra el adoptante
     }
 
     /**
      * Guarda toda la información de los animales en archivos CSV.
      * 
-     * Este método se encarga de llamar a los métodos de cada clase relacionada 
-     * para guardar sus datos en archivos CSV correspondientes. Si se produce 
-     * un error durante el proceso de guardado, se captura la excepción y se 
-     * muestra un mensaje de error.
-     *
-     * @throws IOException Si ocurre un error al intentar escribir en los archivos CSV.
+     * Se reescriben los CSV que tienen cambios; en modo journal, además se compacta
+     * la bitácora, de modo que al salir los CSV siempre quedan al día.
+     * Si se produce un error durante el proceso de guardado, se captura la excepción
+     * y se muestra un mensaje de error.
      */
     public void saveAllData() {
         try {
-            Animal.saveToCSV(animals, "animals.csv");
-            Volunteer.saveToCSV(volunteers, "volunteers.csv");
-            AdoptionCandidate.saveToCSV(adoptionCandidates, "adoption_candidates.csv");
-            Adoption.saveToCSV(adoptions, "adoptions.csv");
-            Resource.saveToCSV(resources, "resources.csv");
-            Task.saveToCSV(tasks, "tasks.csv");
-            MedicalHistory.saveToCSV(histories, "medical_histories.csv");
+            writeAllData();
             System.out.println(" ");
             System.out.println("=====================================================");
             System.out.println("===                DATOS GUARDADOS                ===");
@@ -998,6 +1191,477 @@ public class Main {
         }
     }
 
+    /**
+     * Guardado automático, ejecutado en segundo plano. Sin modo journal guarda los CSV
+     * con cambios; en modo journal los cambios ya están en la bitácora, por lo que solo
+     * compacta cuando la bitácora supera el límite de entradas o cuando algún cambio
+     * no se pudo anotar en ella.
+     */
+    private void autosave() {
+        synchronized (stateLock) {
+            if (JOURNAL_MODE && !unjournaledChanges && !isCompactionDue()) {
+                return;
+            }
+        }
+        try {
+            writeAllData();
+        } catch (IOException e) {
+            System.out.println("Error en el guardado automático: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reescribe los archivos CSV cuyas listas tienen cambios (dirty). Cada archivo
+     * se reemplaza de forma atómica. En modo journal, además marca la bitácora como
+     * incluida en los CSV (compactación).
+     *
+     * Las líneas de cada archivo se generan con los datos bloqueados, para obtener
+     * una copia consistente; la escritura en disco se hace después, sin bloquear el menú.
+     * Primero se preparan los temporales de todos los archivos; en modo journal se anota
+     * la compactación en curso y recién entonces se reemplazan, de modo que si el
+     * programa se interrumpe, al iniciar se terminan de reemplazar (Journal.recover).
+     *
+     * @throws IOException Si ocurre un error al intentar escribir en los archivos CSV.
+     */
+    private void writeAllData() throws IOException {
+        synchronized (saveLock) {
+            Map<DataFile, List<String>> pendingFiles = new EnumMap<>(DataFile.class);
+            byte[] snapshotTables = null;
+            long journalSequence = 0;
+            boolean includesUnjournaled;  // true si el guardado incluye cambios que no están en la bitácora
+
+            // Copia consistente de los datos modificados
+            synchronized (stateLock) {
+                for (DataFile dataFile : dirtyFiles) {
+                    pendingFiles.put(dataFile, toCSVLines(dataFile));
+                }
+                dirtyFiles.clear();
+                includesUnjournaled = unjournaledChanges;
+                unjournaledChanges = false;
+                if (SNAPSHOT_MODE && (pendingFiles.containsKey(DataFile.ANIMALS) || pendingFiles.containsKey(DataFile.MEDICAL_HISTORIES))) {
+                    snapshotTables = encodeSnapshot();
+                }
+                if (JOURNAL_MODE) {
+                    // Las entradas que no se pudieron aplicar al cargar quedan pendientes en la bitácora
+                    journalSequence = replayStoppedAfter >= 0 ? replayStoppedAfter : journal.getLastSequence();
+                }
+            }
+
+            // Escritura en disco: primero todos los temporales, después los reemplazos.
+            // Si algo falla, todos los archivos pendientes se vuelven a escribir en el
+            // siguiente guardado y la bitácora no se compacta.
+            List<String> fileNames = new ArrayList<>(pendingFiles.size());
+            boolean checkpointBegun = false;
+            try {
+                for (Map.Entry<DataFile, List<String>> pendingFile : pendingFiles.entrySet()) {
+                    fileNames.add(pendingFile.getKey().getFileName());
+                    AtomicFileWriter.prepareLines(pendingFile.getValue(), pendingFile.getKey().getFileName(), line -> line);
+                }
+                if (JOURNAL_MODE && !fileNames.isEmpty()) {
+                    journal.beginCheckpoint(journalSequence, fileNames);
+                    checkpointBegun = true;
+                }
+                for (DataFile dataFile : pendingFiles.keySet()) {
+                    if (dataFile == DataFile.MEDICAL_HISTORIES) {
+                        histories.replaceFile(dataFile.getFileName());  // Reemplaza y vuelve a indexar
+                    } else {
+                        AtomicFileWriter.commit(dataFile.getFileName());
+                    }
+                }
+            } catch (IOException e) {
+                if (!checkpointBegun) {
+                    // Sin aviso de compactación los temporales no se usan; con aviso se
+                    // conservan para terminar los reemplazos al iniciar (Journal.recover)
+                    for (String fileName : fileNames) {
+                        try {
+                            AtomicFileWriter.discard(fileName);
+                        } catch (IOException discardError) {
+                            e.addSuppressed(discardError);
+                        }
+                    }
+                }
+                synchronized (stateLock) {
+                    dirtyFiles.addAll(pendingFiles.keySet());  // Se vuelven a intentar en el siguiente guardado
+                    unjournaledChanges |= includesUnjournaled;
+                }
+                throw e;
+            }
+            if (snapshotTables != null) {
+                writeSnapshot(snapshotTables);
+            }
+            if (JOURNAL_MODE) {
+                journal.checkpoint(journalSequence);
+            }
+        }
+    }
+
+    /**
+     * Codifica el snapshot binario de animales e historiales. En modo bajo demanda
+     * el snapshot solo incluye animales, para no leer todos los historiales.
+     *
+     * @return Las tablas codificadas del snapshot.
+     */
+    private byte[] encodeSnapshot() {
+        List<MedicalHistory> snapshotHistories = histories.isLazy() ? new ArrayList<>() : histories.getAll();
+        return Snapshot.encode(animals, snapshotHistories);
+    }
+
+    /**
+     * Reescribe el snapshot binario de animales e historiales. Debe llamarse cuando
+     * los CSV coinciden con las tablas codificadas. Si falla, el snapshot anterior
+     * queda obsoleto y se ignora al cargar, por lo que solo se muestra un aviso.
+     *
+     * @param tables Las tablas codificadas con {@link #encodeSnapshot()}.
+     */
+    private void writeSnapshot(byte[] tables) {
+        try {
+            Snapshot.write(tables, SNAPSHOT_FILE, snapshotSources());
+        } catch (IOException e) {
+            System.out.println("No se pudo guardar " + SNAPSHOT_FILE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Método auxiliar que devuelve los CSV representados en el snapshot binario.
+     */
+    private static String[] snapshotSources() {
+        if (LAZY_HISTORIES) {
+            return new String[] { DataFile.ANIMALS.getFileName() };
+        }
+        return new String[] { DataFile.ANIMALS.getFileName(), DataFile.MEDICAL_HISTORIES.getFileName() };
+    }
+
+    /**
+     * Convierte la lista correspondiente a un archivo CSV en sus líneas.
+     *
+     * @param dataFile El archivo que se desea guardar.
+     * @return Las líneas CSV del archivo.
+     * @throws IOException Si ocurre un error al leer los historiales que siguen en el archivo.
+     */
+    private List<String> toCSVLines(DataFile dataFile) throws IOException {
+        switch (dataFile) {
+            case ANIMALS:
+                return toCSVLines(animals, Animal::toCSV);
+            case VOLUNTEERS:
+                return toCSVLines(volunteers, Volunteer::toCSV);
+            case ADOPTION_CANDIDATES:
+                return toCSVLines(adoptionCandidates, AdoptionCandidate::toCSV);
+            case ADOPTIONS:
+                return toCSVLines(adoptions, Adoption::toCSV);
+            case RESOURCES:
+                return toCSVLines(resources, Resource::toCSV);
+            case TASKS:
+                return toCSVLines(tasks, Task::toCSV);
+            case MEDICAL_HISTORIES:
+                return histories.toCSVLines();
+            case RESOURCE_LEDGER:
+                return resourceLedger.toCSVLines(resources);
+            default:
+                throw new IllegalArgumentException("Archivo desconocido: " + dataFile);
+        }
+    }
+
+    /**
+     * Método auxiliar que convierte cada elemento de una lista en su línea CSV.
+     */
+    private static <T> List<String> toCSVLines(List<T> items, Function<T, String> toCSV) {
+        List<String> lines = new ArrayList<>(items.size());
+        for (T item : items) {
+            lines.add(toCSV.apply(item));
+        }
+        return lines;
+    }
+
+    /**
+     * Marca uno o más archivos como modificados para que se guarden en el siguiente guardado,
+     * y avisa a la caché de informes que esas listas cambiaron.
+     *
+     * @param changedFiles Los archivos cuyas listas cambiaron.
+     */
+    private void markDirty(DataFile... changedFiles) {
+        for (DataFile dataFile : changedFiles) {
+            dirtyFiles.add(dataFile);
+        }
+        reportCache.changed(changedFiles);  // Invalidar los informes que dependen de estas listas
+        if (autosave != null) {
+            autosave.changed();
+        }
+    }
+
+    /**
+     * Anota un cambio en la bitácora (modo journal). Cuando la bitácora supera el
+     * límite de entradas, se compacta en los CSV base; con guardado automático, la
+     * compactación se hace en segundo plano. Si no se puede anotar, el cambio solo
+     * queda en memoria, por lo que el siguiente guardado reescribe los CSV. Lo mismo
+     * ocurre si la bitácora no se pudo aplicar completa al cargar: los cambios nuevos
+     * no se anotan después de las entradas sin aplicar.
+     * Debe llamarse con {@code stateLock} bloqueado.
+     *
+     * @param type El tipo de cambio.
+     * @param payload Los datos del cambio.
+     */
+    private void recordChange(String type, String payload) {
+        if (!JOURNAL_MODE) {
+            return;
+        }
+        if (replayStoppedAfter >= 0) {
+            unjournaledChanges = true;
+            return;
+        }
+        try {
+            journal.append(type, payload);
+            if (autosave == null && isCompactionDue()) {
+                writeAllData();
+            }
+        } catch (IOException e) {
+            unjournaledChanges = true;
+            System.out.println(" ");
+            System.out.println("==============================");
+            System.out.println("===          ERROR         ===");
+            System.out.println("= Error al registrar el cambio: " + e.getMessage());
+            System.out.println("==============================");
+            System.out.println("");
+        }
+    }
+
+    /**
+     * Indica si la bitácora superó el límite de entradas y se debe compactar en los CSV.
+     * No se compacta si la bitácora no se aplicó completa al cargar.
+     */
+    private boolean isCompactionDue() {
+        return replayStoppedAfter < 0 && journal.getPendingEntries() >= JOURNAL_COMPACTION_THRESHOLD;
+    }
+
+    /**
+     * Vuelve a aplicar sobre los datos cargados los cambios de la bitácora que
+     * todavía no están incluidos en los CSV base. Se detiene en la primera entrada
+     * que no se puede aplicar: esa entrada y las siguientes se conservan en la
+     * bitácora, y los guardados de la sesión no las compactan.
+     *
+     * @return La cantidad de cambios aplicados.
+     * @throws IOException Si ocurre un error al leer la bitácora.
+     */
+    private int replayJournal() throws IOException {
+        List<Journal.Entry> entries = journal.readPendingEntries();
+        long lastApplied = journal.getCheckpoint();
+        int applied = 0;
+        for (Journal.Entry entry : entries) {
+            try {
+                applyJournalEntry(entry);
+            } catch (IOException | RuntimeException e) {
+                replayStoppedAfter = lastApplied;
+                System.out.println("===============================================================");
+                System.out.println(String.format("== %-57s ==", "Cambio " + entry.getSequence() + " de " + JOURNAL_FILE + " no válido (" + entry.getType() + ")"));
+                System.out.println(String.format("== %-57s ==", e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+                System.out.println(String.format("== %-57s ==", "Se conservan sin aplicar los cambios desde el " + entry.getSequence()));
+                System.out.println("===============================================================");
+                break;
+            }
+            lastApplied = entry.getSequence();
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * Método auxiliar que aplica una entrada de la bitácora sobre los datos cargados.
+     */
+    private void applyJournalEntry(Journal.Entry entry) throws IOException {
+        CsvTokenizer fields = CsvTokenizer.ofLine(entry.getPayload());
+        switch (entry.getType()) {
+            case "ANIMAL":
+                applyAddAnimal(Animal.fromCSV(fields));
+                break;
+            case "VOLUNTEER":
+                applyAddVolunteer(Volunteer.fromCSV(fields));
+                break;
+            case "ADOPTER":
+                applyAddAdopter(AdoptionCandidate.fromCSV(fields, animalRegistry, volunteerRegistry));
+                break;
+            case "ADOPTION":
+                applyAdoption(Adoption.fromCSV(fields, animalRegistry, volunteerRegistry, candidateRegistry));
+                break;
+            case "RESOURCE": {
+                Resource resource = Resource.fromCSV(fields);
+                applyAddResource(resource, fields.hasMoreFields() ? LocalDate.parse(fields.nextString()) : LocalDate.now());  // Entradas antiguas sin fecha
+                break;
+            }
+            case "RESOURCE_QTY": {
+                int position = fields.nextInt();
+                int quantity = fields.nextInt();
+                LocalDate date = fields.hasMoreFields() ? LocalDate.parse(fields.nextString()) : LocalDate.now();  // Entradas antiguas sin fecha
+                applyResourceQuantity(findJournalResource(position, fields.hasMoreFields() ? fields.nextString() : null), quantity, date);
+                break;
+            }
+            case "TASK":
+                applyAddTask(Task.fromCSV(fields, volunteerRegistry));
+                break;
+            case "TASK_DONE": {
+                int position = fields.nextInt();
+                int volunteerId = fields.nextInt();
+                Volunteer volunteer = findVolunteerById(volunteerId);
+                if (volunteer == null) {
+                    throw new IOException("Voluntario con ID " + volunteerId + " no encontrado");
+                }
+                int hoursWorked = fields.nextInt();
+                applyCompleteTask(findJournalTask(position, fields.hasMoreFields() ? fields.nextString() : null), volunteer, hoursWorked);
+                break;
+            }
+            case "MEDICAL": {
+                int animalId = fields.nextInt();
+                Animal animal = findAnimalById(animalId);
+                if (animal == null) {
+                    throw new IOException("Animal con ID " + animalId + " no encontrado");
+                }
+                applyMedicalRecord(animal, MedicalRecord.fromCSV(fields));
+                break;
+            }
+            default:
+                throw new IOException("Tipo de cambio desconocido en la bitácora: " + entry.getType());
+        }
+    }
+
+    /**
+     * Busca el recurso de una entrada de la bitácora por su nombre. La posición solo
+     * distingue recursos con el mismo nombre, y se usa sola en las entradas antiguas sin nombre.
+     */
+    private Resource findJournalResource(int position, String name) throws IOException {
+        if (position >= 0 && position < resources.size()
+                && (name == null || resources.get(position).getResourceName().equalsIgnoreCase(name))) {
+            return resources.get(position);
+        }
+        int named = name == null ? -1 : resourceNames.positionOf(name);
+        if (named < 0) {
+            throw new IOException("Recurso de la bitácora no encontrado: " + (name != null ? name : "posición " + position));
+        }
+        return resources.get(named);
+    }
+
+    /**
+     * Busca la tarea de una entrada de la bitácora por su nombre. La posición solo
+     * distingue tareas con el mismo nombre, y se usa sola en las entradas antiguas sin nombre.
+     * Si la posición no coincide, se usa la primera tarea pendiente con ese nombre.
+     */
+    private Task findJournalTask(int position, String name) throws IOException {
+        if (position >= 0 && position < tasks.size()
+                && (name == null || tasks.get(position).getTaskName().equals(name))) {
+            return tasks.get(position);
+        }
+        for (Task task : tasks) {
+            if (name != null && !task.isCompleted() && task.getTaskName().equals(name)) {
+                return task;
+            }
+        }
+        throw new IOException("Tarea de la bitácora no encontrada: " + (name != null ? name : "posición " + position));
+    }
+
+    /**
+     * Agrega un animal a la lista y al registro por ID.
+     */
+    private void applyAddAnimal(Animal animal) {
+        animals.add(animal);
+        animalRegistry.register(animal);
+        statusIndex.add(findAnimalById(animal.getId()));  // La instancia registrada (una vista en el almacén compacto)
+        stats.add(animal);
+        searchIndex.addAnimal(findAnimalById(animal.getId()));
+        animalNames.add(findAnimalById(animal.getId()));
+        markDirty(DataFile.ANIMALS);
+    }
+
+    /**
+     * Agrega un voluntario a la lista y al registro por ID.
+     */
+    private void applyAddVolunteer(Volunteer volunteer) {
+        volunteers.add(volunteer);
+        volunteerRegistry.register(volunteer);
+        volunteerNames.add(volunteer);
+        markDirty(DataFile.VOLUNTEERS);
+    }
+
+    /**
+     * Agrega un adoptante a la lista y al registro por ID.
+     */
+    private void applyAddAdopter(AdoptionCandidate adopter) {
+        adoptionCandidates.add(adopter);
+        candidateRegistry.register(adopter);
+        candidateNames.add(adopter);
+        markDirty(DataFile.ADOPTION_CANDIDATES);
+    }
+
+    /**
+     * Registra una adopción: la agrega a la lista, asocia el animal y el voluntario
+     * al adoptante y marca al animal como adoptado.
+     */
+    private void applyAdoption(Adoption adoption) {
+        adoptions.add(adoption);
+        adoptionIndex.add(adoption);
+        adoptionCube.add(adoption);
+        AdoptionCandidate adopter = adoption.getAdopter();
+        adopter.addAnimal(adoption.getAnimal());       // Agregar el animal a la lista de animales adoptados por el adoptante
+        adopter.setVolunteer(adoption.getVolunteer()); // Agregar el volunteer relacionado con el adoptante
+        stats.remove(adoption.getAnimal());            // Restarlo con su estado anterior
+        adoption.getAnimal().setAdopted(true);         // Marcar al animal como adoptado
+        stats.add(adoption.getAnimal());
+        markDirty(DataFile.ADOPTIONS, DataFile.ADOPTION_CANDIDATES, DataFile.ANIMALS);
+    }
+
+    /**
+     * Agrega un recurso a la lista de recursos y registra su cantidad inicial en el historial.
+     */
+    private void applyAddResource(Resource resource, LocalDate date) {
+        resources.add(resource);
+        resourceNames.add(resource);
+        stats.add(resource);
+        resource.setDate(date);
+        resourceLedger.record(resource, date);
+        markDirty(DataFile.RESOURCES, DataFile.RESOURCE_LEDGER);
+    }
+
+    /**
+     * Cambia la cantidad disponible de un recurso y registra el cambio en el historial.
+     */
+    private void applyResourceQuantity(Resource resource, int quantity, LocalDate date) {
+        stats.remove(resource);  // Restarlo con su cantidad anterior
+        resource.updateQuantity(quantity, date);
+        stats.add(resource);
+        resourceLedger.record(resource, date);
+        markDirty(DataFile.RESOURCES, DataFile.RESOURCE_LEDGER);
+    }
+
+    /**
+     * Agrega una tarea a la lista de tareas.
+     */
+    private void applyAddTask(Task task) {
+        tasks.add(task);
+        volunteerTasks.add(task);
+        stats.add(task);
+        markDirty(DataFile.TASKS);
+    }
+
+    /**
+     * Marca una tarea como completada por un voluntario y le suma las horas trabajadas.
+     */
+    private void applyCompleteTask(Task task, Volunteer volunteer, int hoursWorked) {
+        volunteer.addHours(hoursWorked);
+        volunteerTasks.remove(task);  // Quitarla con su voluntario y estado anteriores
+        stats.remove(task);
+        task.setVolunteer(volunteer);
+        task.completeTask();
+        volunteerTasks.add(task);
+        stats.add(task);
+        markDirty(DataFile.TASKS, DataFile.VOLUNTEERS);
+    }
+
+    /**
+     * Agrega un registro médico al historial del animal, creando el historial si no existe.
+     */
+    private void applyMedicalRecord(Animal animal, MedicalRecord record) {
+        MedicalHistory medicalHistory = histories.findForUpdate(animal);  // Lo crea si no existe
+        medicalHistory.addRecord(record);
+        searchIndex.addRecord(animal, medicalHistory.getRecords().size() - 1, record);  // Se lee del historial al buscar
+        markDirty(DataFile.MEDICAL_HISTORIES);
+    }
+
     /**
      * Solicita al usuario una fecha válida a través de un objeto {@code Scanner}.
      * El método sigue solicitando la fecha hasta que el usuario ingrese una en el formato correcto.
@@ -1046,91 +1710,274 @@ public class Main {
     /**
      * Carga toda la información desde archivos CSV al iniciar el programa.
      * 
-     * Este método se encarga de leer los archivos CSV y cargar la información
-     * correspondiente en las listas de objetos. Si no se pueden cargar los datos,
-     * se inicializan las listas con valores vacíos para evitar problemas en la 
-     * ejecución del programa.
-     *
-     * @throws IOException Si ocurre un error al intentar leer los archivos CSV.
-     * @throws Exception Si ocurre un error al intentar leer los archivos CSV del Historial Medico.
+     * Los archivos se cargan en un pool de hilos respetando sus dependencias:
+     * animales, voluntarios y recursos no dependen de nada y se leen en paralelo;
+     * los adoptantes esperan a animales y voluntarios; las adopciones esperan a los
+     * adoptantes; las tareas a los voluntarios, los historiales médicos a los animales
+     * y el historial de cantidades a los recursos.
+     * Si existe un snapshot binario vigente, los animales y los historiales médicos se
+     * leen de él en lugar de sus CSV; si no, se genera a partir de los CSV cargados.
+     * En modo de historiales bajo demanda, solo se indexa la posición de cada historial,
+     * y en modo compacto los animales se guardan en un AnimalStore.
+     * Si no se pueden cargar los datos de un archivo, se inicializa su lista vacía
+     * para evitar problemas en la ejecución del programa. Al final se muestra el
+     * tiempo de carga de cada archivo.
      */
     public void loadAllData() {
-        try {
-            animals = Animal.loadFromCSV("animals.csv");
-        } catch (IOException e) {
-            System.out.println("===============================================================");
-            System.out.println("==      No se encuentra archivo animals.csv para cargar      ==");
-            System.out.println("==                 Se inicia sin información                 ==");
-            System.out.println("===============================================================");
-            animals = new ArrayList<>(); // Inicializa la lista vacía si hay un error
+        Map<String, Long> loadTimes = new ConcurrentHashMap<>();          // Tiempo de carga (ns) por archivo
+        Set<String> missingFiles = ConcurrentHashMap.newKeySet();         // Archivos que no se pudieron cargar
+        int threads = Math.max(2, Math.min(LOAD_THREADS, Runtime.getRuntime().availableProcessors()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long loadStart = System.nanoTime();
+
+        Snapshot snapshot = null;
+        // En modo bajo demanda los registros médicos se indexan al recorrer su archivo
+        SearchIndex historyIndex = new SearchIndex(animal -> histories.find(animal));
+
+        // Un guardado interrumpido se termina antes de leer los CSV
+        if (JOURNAL_MODE) {
+            journal = new Journal(JOURNAL_FILE);
+            try {
+                if (journal.recover()) {
+                    System.out.println("===============================================================");
+                    System.out.println(String.format("== %-57s ==", "Se completó un guardado interrumpido"));
+                    System.out.println("===============================================================");
+                }
+            } catch (IOException e) {
+                System.out.println("===============================================================");
+                System.out.println(String.format("== %-57s ==", "No se pudo completar el guardado: " + e.getMessage()));
+                System.out.println("===============================================================");
+            }
         }
-    
+
         try {
-            volunteers = Volunteer.loadFromCSV("volunteers.csv");
-        } catch (IOException e) {
-            System.out.println("===============================================================");
-            System.out.println("==    No se encuentra archivo volunteers.csv para cargar     ==");
-            System.out.println("==                 Se inicia sin información                 ==");
-            System.out.println("===============================================================");
-            volunteers = new ArrayList<>(); // Inicializa la lista vacía si hay un error
+            // Snapshot binario de animales e historiales, si coincide con los CSV actuales
+            if (SNAPSHOT_MODE) {
+                long snapshotStart = System.nanoTime();
+                snapshot = Snapshot.openIfCurrent(SNAPSHOT_FILE, snapshotSources());
+                loadTimes.put(SNAPSHOT_FILE, System.nanoTime() - snapshotStart);
+            }
+            Snapshot currentSnapshot = snapshot;
+
+            // Nivel 1: archivos sin dependencias
+            CompletableFuture<List<Animal>> animalsFuture = loadAsync(pool, "animals.csv", loadTimes, missingFiles, false,
+                () -> loadAnimals(currentSnapshot), () -> COMPACT_ANIMALS ? new AnimalStore().asList() : new ArrayList<>());
+            CompletableFuture<List<Volunteer>> volunteersFuture = loadAsync(pool, "volunteers.csv", loadTimes, missingFiles, false,
+                () -> Volunteer.loadFromCSV("volunteers.csv"));
+            CompletableFuture<List<Resource>> resourcesFuture = loadAsync(pool, "resources.csv", loadTimes, missingFiles, false,
+                () -> Resource.loadFromCSV("resources.csv"));
+
+            CompletableFuture<EntityIndex<Animal>> animalRegistryFuture = animalsFuture
+                .thenApply(list -> COMPACT_ANIMALS ? AnimalStore.storeOf(list) : EntityRegistry.fromList(list, Animal::getId));
+            CompletableFuture<EntityRegistry<Volunteer>> volunteerRegistryFuture = volunteersFuture
+                .thenApply(list -> EntityRegistry.fromList(list, Volunteer::getId));
+
+            // Nivel 2: adoptantes (animales + voluntarios), tareas (voluntarios), historiales (animales),
+            // historial de cantidades (recursos)
+            CompletableFuture<List<AdoptionCandidate>> candidatesFuture = CompletableFuture
+                .allOf(animalRegistryFuture, volunteerRegistryFuture)
+                .thenCompose(ignored -> loadAsync(pool, "adoption_candidates.csv", loadTimes, missingFiles, false,
+                    () -> AdoptionCandidate.loadFromCSV("adoption_candidates.csv", animalRegistryFuture.join(), volunteerRegistryFuture.join())));
+            CompletableFuture<List<Task>> tasksFuture = volunteerRegistryFuture
+                .thenCompose(registry -> loadAsync(pool, "tasks.csv", loadTimes, missingFiles, false,
+                    () -> Task.loadFromCSV("tasks.csv", registry)));
+            CompletableFuture<MedicalHistoryStore> historiesFuture = animalRegistryFuture
+                .thenCompose(registry -> loadAsync(pool, "medical_histories.csv", loadTimes, missingFiles, true,
+                    () -> LAZY_HISTORIES ? MedicalHistoryStore.openLazy("medical_histories.csv", registry, historyIndex)
+                                         : MedicalHistoryStore.of(currentSnapshot != null ? currentSnapshot.readHistories(registry)
+                                                                                          : MedicalHistory.loadFromCSV("medical_histories.csv", registry)),
+                    () -> MedicalHistoryStore.of(new ArrayList<>())));
+            CompletableFuture<ResourceLedger> ledgerFuture = resourcesFuture
+                .thenCompose(list -> loadAsync(pool, "resource_ledger.csv", loadTimes, missingFiles, true,
+                    () -> ResourceLedger.loadFromCSV("resource_ledger.csv", list), ResourceLedger::new));
+
+            CompletableFuture<EntityRegistry<AdoptionCandidate>> candidateRegistryFuture = candidatesFuture
+                .thenApply(list -> EntityRegistry.fromList(list, AdoptionCandidate::getId));
+
+            // Nivel 3: adopciones (animales + voluntarios + adoptantes)
+            CompletableFuture<List<Adoption>> adoptionsFuture = candidateRegistryFuture
+                .thenCompose(registry -> loadAsync(pool, "adoptions.csv", loadTimes, missingFiles, false,
+                    () -> Adoption.loadFromCSV("adoptions.csv", animalRegistryFuture.join(), volunteerRegistryFuture.join(), registry)));
+
+            animals = join(animalsFuture);
+            volunteers = join(volunteersFuture);
+            resources = join(resourcesFuture);
+            adoptionCandidates = join(candidatesFuture);
+            tasks = join(tasksFuture);
+            histories = join(historiesFuture);
+            resourceLedger = join(ledgerFuture);
+            adoptions = join(adoptionsFuture);
+            animalRegistry = join(animalRegistryFuture);
+            volunteerRegistry = join(volunteerRegistryFuture);
+            candidateRegistry = join(candidateRegistryFuture);
+        } finally {
+            pool.shutdown();
         }
-    
-        try {
-            adoptionCandidates = AdoptionCandidate.loadFromCSV("adoption_candidates.csv", animals, volunteers);
-        } catch (IOException e) {
-            System.out.println("===============================================================");
-            System.out.println("= No se encuentra archivo adoption_candidates.csv para cargar =");
-            System.out.println("==                 Se inicia sin información                 ==");
-            System.out.println("===============================================================");
-            adoptionCandidates = new ArrayList<>(); // Inicializa la lista vacía si hay un error
+        statusIndex = AnimalStatusIndex.fromList(animals, animalRegistry);  // Antes de la bitácora, que lo mantiene al día
+        adoptionIndex = AdoptionIndex.fromList(adoptions);
+        adoptionCube = AdoptionCube.fromList(adoptions);
+        resourceNames = ResourceNameIndex.fromList(resources);
+        volunteerTasks = VolunteerTaskIndex.fromList(tasks);
+        stats = ShelterStats.fromLists(animals, tasks, resources);
+        animalNames = NameIndex.fromList(animals, Animal::getName);
+        candidateNames = NameIndex.fromList(adoptionCandidates, AdoptionCandidate::getName);
+        volunteerNames = NameIndex.fromList(volunteers, Volunteer::getName);
+        searchIndex = historyIndex;
+        for (Animal animal : animals) {
+            searchIndex.addAnimal(animal);
         }
-    
-        try {
-            adoptions = Adoption.loadFromCSV("adoptions.csv", animals, volunteers, adoptionCandidates);
-        } catch (IOException e) {
-            System.out.println("===============================================================");
-            System.out.println("==     No se encuentra archivo adoptions.csv para cargar     ==");
-            System.out.println("==                 Se inicia sin información                 ==");
-            System.out.println("===============================================================");
-            adoptions = new ArrayList<>(); // Inicializa la lista vacía si hay un error
+        if (!histories.isLazy()) {
+            for (MedicalHistory history : histories.getAll()) {
+                searchIndex.addHistory(history);
+            }
         }
-    
-        try {
-            resources = Resource.loadFromCSV("resources.csv");
-        } catch (IOException e) {
-            System.out.println("===============================================================");
-            System.out.println("==     No se encuentra archivo resources.csv para cargar     ==");
-            System.out.println("==                 Se inicia sin información                 ==");
-            System.out.println("===============================================================");
-            resources = new ArrayList<>(); // Inicializa la lista vacía si hay un error
+
+        // Generar el snapshot a partir de los CSV recién cargados (antes de aplicar la bitácora)
+        if (SNAPSHOT_MODE && snapshot == null && !missingFiles.contains(DataFile.ANIMALS.getFileName())
+                && !missingFiles.contains(DataFile.MEDICAL_HISTORIES.getFileName())) {
+            writeSnapshot(encodeSnapshot());
         }
-    
-        try {
-            tasks = Task.loadFromCSV("tasks.csv", volunteers);
-        } catch (IOException e) {
-            System.out.println("===============================================================");
-            System.out.println("==       No se encuentra archivo tasks.csv para cargar       ==");
-            System.out.println("==                 Se inicia sin información                 ==");
-            System.out.println("===============================================================");
-            tasks = new ArrayList<>(); // Inicializa la lista vacía si hay un error
+
+        // Aplicar los cambios de la bitácora posteriores a los CSV base
+        int replayedChanges = 0;
+        if (JOURNAL_MODE) {
+            long replayStart = System.nanoTime();
+            try {
+                replayedChanges = replayJournal();
+            } catch (IOException e) {
+                replayStoppedAfter = journal.getCheckpoint();  // No se aplicó ningún cambio: no se compacta la bitácora
+                System.out.println("===============================================================");
+                System.out.println(String.format("== %-57s ==", "No se pudo leer " + JOURNAL_FILE + ": " + e.getMessage()));
+                System.out.println("===============================================================");
+            }
+            loadTimes.put(JOURNAL_FILE, System.nanoTime() - replayStart);
         }
-        
-        try {
-            histories = MedicalHistory.loadFromCSV("medical_histories.csv", animals);
-        } catch (Exception e) {
-            System.out.println("===============================================================");
-            System.out.println("== No se encuentra archivo medical_histories.csv para cargar ==");
-            System.out.println("==                 Se inicia sin información                 ==");
-            System.out.println("===============================================================");
-            histories = new ArrayList<>(); // Inicializa la lista vacía si hay un error
+        long totalLoadTime = System.nanoTime() - loadStart;
+
+        // Mostrar los avisos de archivos faltantes en el orden habitual
+        for (DataFile dataFile : DataFile.values()) {
+            String fileName = dataFile.getFileName();
+            if (missingFiles.contains(fileName)) {
+                System.out.println("===============================================================");
+                System.out.println(String.format("== %-57s ==", "No se encuentra archivo " + fileName + " para cargar"));
+                System.out.println("==                 Se inicia sin información                 ==");
+                System.out.println("===============================================================");
+            }
         }
 
         System.out.println(" ");
         System.out.println("===============================================================");
         System.out.println("===                 FINALIZA CARGA DE DATOS                 ===");
         System.out.println("===============================================================");
+        for (DataFile dataFile : DataFile.values()) {
+            String fileName = dataFile.getFileName();
+            System.out.println(String.format("== %-38s %18s ==", fileName, formatMillis(loadTimes.getOrDefault(fileName, 0L))));
+        }
+        if (snapshot != null) {
+            System.out.println(String.format("== %-38s %18s ==", SNAPSHOT_FILE + (LAZY_HISTORIES ? " (animales)" : " (animales e historiales)"), formatMillis(loadTimes.get(SNAPSHOT_FILE))));
+        }
+        if (JOURNAL_MODE) {
+            System.out.println(String.format("== %-38s %18s ==", JOURNAL_FILE + " (" + replayedChanges + " cambios)", formatMillis(loadTimes.get(JOURNAL_FILE))));
+        }
+        StringDictionary dictionary = StringDictionary.shared();
+        System.out.println(String.format("== %-38s %18s ==",
+            String.format("Textos compartidos: %.1f%% aciertos", dictionary.getHitRate()),
+            String.format("%.1f KB menos", dictionary.getBytesSaved() / 1024.0)));
+        System.out.println(String.format("== %-38s %18s ==", "Tiempo total de carga", formatMillis(totalLoadTime)));
+        System.out.println("===============================================================");
         System.out.println("");
     }
+
+    /**
+     * Método auxiliar que carga los animales desde el snapshot (si hay) o desde su CSV.
+     * En modo compacto, los animales quedan en un AnimalStore y se devuelve su vista de lista.
+     */
+    private static List<Animal> loadAnimals(Snapshot snapshot) throws IOException {
+        if (!COMPACT_ANIMALS) {
+            return snapshot != null ? snapshot.readAnimals() : Animal.loadFromCSV("animals.csv");
+        }
+        if (snapshot == null) {
+            return AnimalStore.loadFromCSV("animals.csv").asList();
+        }
+        AnimalStore store = new AnimalStore();
+        snapshot.readAnimals(store);  // Sin pasar por objetos Animal intermedios
+        return store.asList();
+    }
+
+    /**
+     * Interfaz funcional para las cargas de CSV que pueden lanzar excepciones.
+     */
+    private interface CsvLoader<T> {
+        T load() throws Exception;
+    }
+
+    /**
+     * Método auxiliar que carga un archivo CSV en el pool de hilos y mide su tiempo de carga.
+     * Si el archivo no se puede leer, se registra como faltante y se devuelve una lista vacía.
+     *
+     * @param pool El pool de hilos donde se ejecuta la carga.
+     * @param fileName El nombre del archivo que se carga.
+     * @param loadTimes El mapa donde se registra el tiempo de carga de cada archivo.
+     * @param missingFiles El conjunto donde se registran los archivos que no se pudieron cargar.
+     * @param tolerant true si cualquier error de lectura debe tratarse como archivo faltante,
+     *                 false si solo los errores de E/S.
+     * @param loader La operación que carga el archivo.
+     * @return Un CompletableFuture con la lista cargada.
+     */
+    private <T> CompletableFuture<List<T>> loadAsync(ExecutorService pool, String fileName, Map<String, Long> loadTimes,
+                                                    Set<String> missingFiles, boolean tolerant, CsvLoader<List<T>> loader) {
+        return loadAsync(pool, fileName, loadTimes, missingFiles, tolerant, loader, ArrayList::new);
+    }
+
+    /**
+     * Método auxiliar que carga un archivo en el pool de hilos y mide su tiempo de carga.
+     * Si el archivo no se puede leer, se registra como faltante y se devuelve el valor vacío.
+     *
+     * @param loader La operación que carga el archivo.
+     * @param empty La operación que crea el valor vacío cuando no se puede cargar el archivo.
+     * @return Un CompletableFuture con el valor cargado.
+     */
+    private <T> CompletableFuture<T> loadAsync(ExecutorService pool, String fileName, Map<String, Long> loadTimes,
+                                               Set<String> missingFiles, boolean tolerant, CsvLoader<T> loader, Supplier<T> empty) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                return loader.load();
+            } catch (IOException e) {
+                missingFiles.add(fileName);
+                return empty.get(); // Inicializa vacío si hay un error
+            } catch (Exception e) {
+                if (!tolerant) {
+                    throw new CompletionException(e);
+                }
+                missingFiles.add(fileName);
+                return empty.get(); // Inicializa vacío si hay un error
+            } finally {
+                loadTimes.put(fileName, System.nanoTime() - start);
+            }
+        }, pool);
+    }
+
+    /**
+     * Método auxiliar que espera el resultado de una carga y relanza su excepción original.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Método auxiliar que da formato de milisegundos a un tiempo en nanosegundos.
+     */
+    private static String formatMillis(long nanos) {
+        return String.format("%.1f ms", nanos / 1_000_000.0);
+    }
     
     /**
  * Muestra el historial de tareas de un voluntario específico.
@@ -1174,14 +2021,9 @@ public void viewVolunteerTaskHistory(Scanner sc) {
             return;
         }
 
-        // Filtrar tareas del voluntario
-        List<Task> volunteerTasks = new ArrayList<>();
-        for (Task task : tasks) {
-            if (task.getVolunteer() != null && 
-                task.getVolunteer().getId() == selectedVolunteer.getId()) {
-                volunteerTasks.add(task);
-            }
-        }
+        // Obtener solo las tareas del voluntario, ya separadas por estado
+        Collection<Task> completedTasks = volunteerTasks.getCompleted(selectedVolunteer);
+        Collection<Task> pendingTasks = volunteerTasks.getPending(selectedVolunteer);
 
         // Mostrar resultados
         System.out.println("\n=== Historial de Tareas ===");
@@ -1190,51 +2032,41 @@ public void viewVolunteerTaskHistory(Scanner sc) {
         System.out.println("Horas Trabajadas: " + selectedVolunteer.getHoursWorked());
         System.out.println("------------------------");
 
-        if (volunteerTasks.isEmpty()) {
+        if (completedTasks.isEmpty() && pendingTasks.isEmpty()) {
             System.out.println("Este voluntario no tiene tareas asignadas.");
         } else {
             // Mostrar tareas completadas
             System.out.println("\nTareas Completadas:");
-            boolean hasCompletedTasks = false;
-            for (Task task : volunteerTasks) {
-                if (task.isCompleted()) {
-                    System.out.println("- " + task.getTaskName());
-                    System.out.println("  Descripción: " + task.getDescription());
-                    System.out.println("------------------------");
-                    hasCompletedTasks = true;
-                }
+            for (Task task : completedTasks) {
+                System.out.println("- " + task.getTaskName());
+                System.out.println("  Descripción: " + task.getDescription());
+                System.out.println("------------------------");
             }
-            if (!hasCompletedTasks) {
+            if (completedTasks.isEmpty()) {
                 System.out.println("No hay tareas completadas.");
             }
 
             // Mostrar tareas pendientes
             System.out.println("\nTareas Pendientes:");
-            boolean hasPendingTasks = false;
-            for (Task task : volunteerTasks) {
-                if (!task.isCompleted()) {
-                    System.out.println("- " + task.getTaskName());
-                    System.out.println("  Descripción: " + task.getDescription());
-                    System.out.println("------------------------");
-                    hasPendingTasks = true;
-                }
+            for (Task task : pendingTasks) {
+                System.out.println("- " + task.getTaskName());
+                System.out.println("  Descripción: " + task.getDescription());
+                System.out.println("------------------------");
             }
-            if (!hasPendingTasks) {
+            if (pendingTasks.isEmpty()) {
                 System.out.println("No hay tareas pendientes.");
             }
 
             // Mostrar estadísticas
-            int totalTasks = volunteerTasks.size();
-            long completedTasks = volunteerTasks.stream()
-                .filter(Task::isCompleted)
-                .count();
+            int totalTasks = completedTasks.size() + pendingTasks.size();
+            int completedCount = completedTasks.size();
             
             System.out.println("\nEstadísticas:");
             System.out.println("Total de tareas: " + totalTasks);
-            System.out.println("Tareas completadas: " + completedTasks + 
-                " (" + String.format("%.1f", (double)completedTasks/totalTasks * 100) + "%)");
-            System.out.println("Tareas pendientes: " + (totalTasks - completedTasks) + 
-                " (" + String.format("%.1f", (double)(totalTasks - completedTasks)/totalTasks * 100) + "%)");
+            System.out.println("Tareas completadas: " + completedCount + 
+                " (" + String.format("%.1f", (double)completedCount/totalTasks * 100) + "%)");
+            System.out.println("Tareas pendientes: " + (totalTasks - completedCount) + 
+                " (" + String.format("%.1f", (double)(totalTasks - completedCount)/totalTasks * 100) + "%)");
             System.out.println("Promedio de horas por tarea: " + 
                 String.format("%.2f", (double)selectedVolunteer.getHoursWorked()/totalTasks));
         }
@@ -14,6 +14,8 @@
  * Última modificación: 13/11/2024
  */
 
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -22,8 +24,12 @@ import java.util.InputMismatchException;
 import java.util.Scanner;
 
 public class MainPage {
+    private static final int REPORT_LIMIT =            // Máximo de elementos que muestra cada informe
+        Integer.getInteger("albergue.reportLimit", Report.NO_LIMIT);
+
     // private Scanner sc; /** Objeto de la clase Report utilizado para generar informes. */
     private Report report;
+    private final PrintWriter console = new PrintWriter(new OutputStreamWriter(System.out));  // Salida de los informes
 
     /**
     * Constructor de la clase MainPage.
@@ -68,7 +74,11 @@ public class MainPage {
         System.out.println(GREEN + "|| " + RESET + "11. Reportes del Albergue                      " + GREEN + "||" + RESET);
         System.out.println(GREEN + "|| " + RESET + "12. Reporte de Adopciones por Período          " + GREEN + "||" + RESET);
         System.out.println(GREEN + "|| " + RESET + "13. Estadísticas Mensuales de Adopciones       " + GREEN + "||" + RESET);
-        System.out.println(GREEN + "|| " + RESET + "14. " + RED + "Salir                                      " + GREEN + "||" + RESET);
+        System.out.println(GREEN + "|| " + RESET + "14. Buscar en Descripciones y Registros        " + GREEN + "||" + RESET);
+        System.out.println(GREEN + "|| " + RESET + "15. Buscar por Nombre                          " + GREEN + "||" + RESET);
+        System.out.println(GREEN + "|| " + RESET + "16. Tendencia de Adopciones por Mes            " + GREEN + "||" + RESET);
+        System.out.println(GREEN + "|| " + RESET + "17. Detalle de Adopciones de un Mes            " + GREEN + "||" + RESET);
+        System.out.println(GREEN + "|| " + RESET + "18. " + RED + "Salir                                      " + GREEN + "||" + RESET);
         System.out.println(CYAN + "====================================================" + RESET);
         System.out.print(YELLOW + "Seleccione una opción: " + RESET);
     }
@@ -95,7 +105,8 @@ public class MainPage {
         System.out.println("** 9. Reporte de Recursos bajos en cantidad       **");
         System.out.println("** 10. Reporte General de Tareas                  **");
         System.out.println("** 11. Reporte de Tareas sin Completar            **");
-        System.out.println("** 12. Regresar                                   **");
+        System.out.println("** 12. Pronóstico de Recursos                     **");
+        System.out.println("** 13. Regresar                                   **");
         System.out.println("****************************************************");
         System.out.print("Seleccione una opción: ");
     }
@@ -161,7 +172,7 @@ public class MainPage {
                         sc.nextLine();  // Limpia el buffer en caso de excepción
                     }
                     
-                } while (reportOption != 12);  // Repite mientras no se elija la opción de regresar (12)
+                } while (reportOption != 13);  // Repite mientras no se elija la opción de regresar (13)
                 break;
             case 12: // Reporte de Adopciones por Período
                 try {
@@ -177,7 +188,8 @@ public class MainPage {
                     if (startDate.isAfter(endDate)) {
                         System.out.println("Error: La fecha inicial no puede ser posterior a la fecha final.");
                     } else {
-                        System.out.println(report.generateAdoptionReportByDate(startDate, endDate));
+                        report.writeAdoptionReportByDate(console, startDate, endDate, REPORT_LIMIT);
+                        endReport();
                     }
                 } catch (DateTimeParseException e) {
                     System.out.println("Error: Formato de fecha inválido");
@@ -192,7 +204,8 @@ public class MainPage {
                     int year = Integer.parseInt(sc.nextLine());
                     System.out.print("Ingrese mes (1-12): ");
                     int month = Integer.parseInt(sc.nextLine());
-                    System.out.println(report.generateMonthlyAdoptionStats(year, month));
+                    report.writeMonthlyAdoptionStats(console, year, month);
+                    endReport();
                 } catch (NumberFormatException e) {
                     System.out.println("Error: Ingrese números válidos");
                 } catch (DateTimeException e) {
@@ -200,7 +213,49 @@ public class MainPage {
                 }
                 break;
             case 14:
+                main.search(sc);                 // Buscar palabras en descripciones y registros médicos
+                break;
+            case 15:
+                main.searchByName(sc);           // Buscar animales, adoptantes y voluntarios por nombre
+                break;
+            case 16:
+                try {
+                    System.out.print("Ingrese año inicial: ");
+                    int startYear = Integer.parseInt(sc.nextLine());
+                    System.out.print("Ingrese año final: ");
+                    int endYear = Integer.parseInt(sc.nextLine());
+                    if (startYear > endYear) {
+                        System.out.println("Error: El año inicial no puede ser posterior al año final.");
+                    } else {
+                        report.writeAdoptionTrendReport(console, startYear, endYear);
+                        endReport();
+                    }
+                } catch (NumberFormatException e) {
+                    System.out.println("Error: Ingrese números válidos");
+                } catch (DateTimeException e) {
+                    System.out.println("Error: Fecha inválida");
+                }
+                break;
+            case 17:
+                try {
+                    System.out.print("Ingrese año: ");
+                    int year = Integer.parseInt(sc.nextLine());
+                    System.out.print("Ingrese mes (1-12): ");
+                    int month = Integer.parseInt(sc.nextLine());
+                    report.writeAdoptionDrillDownReport(console, year, month);
+                    endReport();
+                } catch (NumberFormatException e) {
+                    System.out.println("Error: Ingrese números válidos");
+                } catch (DateTimeException e) {
+                    System.out.println("Error: Fecha inválida");
+                }
+                break;
+            case 18:
                 main.saveAllData();
+                ReportCache cache = report.getCache();
+                if (cache != null && cache.getHits() + cache.getMisses() > 0) {
+                    System.out.println(cache);  // Métricas de la caché de informes
+                }
                 System.out.println(" ");
                 System.out.println("=============================");
                 System.out.println("== SALIENDO DEL SISTEMA... ==");
@@ -227,39 +282,54 @@ public class MainPage {
     public void navigateReport(int option) {
         switch (option) {
             case 1: // Reporte de Adopciones
-                System.out.println(report.generateAdoptionReport());   
+                report.writeAdoptionReport(console, REPORT_LIMIT);
+                endReport();
                 break;
             case 2: // Reporte General de Animales
-                System.out.println(report.generateAnimalStats());      
+                report.writeAnimalStats(console, REPORT_LIMIT);
+                endReport();
                 break;
             case 3: // Reporte Animales por Peligrosidad
-                System.out.println(report.generateDangerLevelReport());
+                report.writeDangerLevelReport(console, REPORT_LIMIT);
+                endReport();
                 break;
             case 4: // Reporte General de Adoptantes
-                System.out.println(report.generateAdoptersReport());   
+                report.writeAdoptersReport(console, REPORT_LIMIT);
+                endReport();
                 break;
             case 5: // Reporte de Adoptantes por Cantidad de Animales Adoptados
-                System.out.println(report.generateTopAdoptersReport());
+                report.writeTopAdoptersReport(console, REPORT_LIMIT);
+                endReport();
                 break;
             case 6: // Reporte General de Voluntarios
-                System.out.println(report.generateVolunteerReport());  
+                report.writeVolunteerReport(console, REPORT_LIMIT);
+                endReport();
                 break;
             case 7: // Top 10 Voluntarios
-                System.out.println(report.generateTop10VolunteerReport());
+                report.writeTop10VolunteerReport(console);
+                endReport();
                 break;
             case 8: // Reporte General de Recursos
-                System.out.println(report.generateResourceReport());  
+                report.writeResourceReport(console, REPORT_LIMIT);
+                endReport();
                 break;
             case 9: // Reporte de Recursos Bajos en Cantidad (Menos 10 como se definió en Threshold)
-                System.out.println(report.generateLowResourceReport());
+                report.writeLowResourceReport(console, REPORT_LIMIT);
+                endReport();
                 break;
             case 10: // Reporte General de Tareas
-                System.out.println(report.generateTaskReport());
+                report.writeTaskReport(console, REPORT_LIMIT);
+                endReport();
                 break;
             case 11: // Reporte de Tareas sin Completar
-                System.out.println(report.generateNoCompleteTaskReport());
+                report.writeNoCompleteTaskReport(console, REPORT_LIMIT);
+                endReport();
+                break;
+            case 12: // Pronóstico de Recursos (días hasta llegar al umbral)
+                report.writeStockForecastReport(console, REPORT_LIMIT);
+                endReport();
                 break;
-            case 12:
+            case 13:
                 // Regresar al menú principal
                 break;
             default:
@@ -272,4 +342,13 @@ public class MainPage {
                 System.out.println(" ");
         }
     }
+
+    /**
+     * Termina un informe escrito en la consola: agrega el salto de línea final y
+     * muestra lo que quede pendiente en el búfer.
+     */
+    private void endReport() {
+        console.println();
+        console.flush();
+    }
 }
@@ -9,12 +9,9 @@
  * 
  * @author Antony Barrios 
  * Fecha de creación: 18/09/2024 
- * Última modificación: 13/10/2024
+ * Última modificación: 18/10/2026
  */
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -112,72 +109,58 @@ public class MedicalHistory {
         return sb.toString();
     }
 
+    /**
+     * Carga un historial médico desde la línea actual de un tokenizador CSV.
+     * @param tokenizer El tokenizador posicionado en la línea del historial.
+     * @param animals El registro de animales para asociar con el historial cargado.
+     * @return El historial médico con todos sus registros.
+     * @throws IllegalArgumentException Si el animal del historial no existe o un registro no es válido.
+     */
+    public static MedicalHistory fromCSV(CsvTokenizer tokenizer, EntityIndex<Animal> animals) {
+        int animalId = tokenizer.nextInt(); // ID del animal
+
+        // Encontrar el animal correspondiente por ID
+        Animal animal = animals.findById(animalId);
+        if (animal == null) {
+            throw new IllegalArgumentException("Animal con ID " + animalId + " no encontrado.");
+        }
+
+        // Crear un historial médico para el animal
+        MedicalHistory history = new MedicalHistory(animal);
+
+        // Leer los registros médicos (están separados por ';')
+        while (tokenizer.hasMoreFields()) {
+            MedicalRecord record = MedicalRecord.fromCSV(tokenizer); // Convertir cada registro
+            history.addRecord(record); // Añadir registro al historial
+        }
+        return history;
+    }
+
     /**
      * Guarda el historial médico en un archivo CSV.
      * @param fileName El nombre del archivo CSV donde se guardará la información.
      * @throws IOException Si ocurre un error al escribir en el archivo.
      */
     public static void saveToCSV(List<MedicalHistory> histories, String fileName) throws IOException {
-        try (FileWriter writer = new FileWriter(fileName)) {
-            for (MedicalHistory history : histories) {
-                writer.write(history.toCSV() + "\n"); // Escribir cada historial médico en una línea
-            }
-        }
+        AtomicFileWriter.writeLines(histories, fileName, MedicalHistory::toCSV); // Cada historial médico en una línea
     }
 
     /**
      * Carga un historial médico desde un archivo CSV.
      * @param fileName El nombre del archivo CSV desde donde se cargará la información.
-     * @param animals La lista de animales para asociar con el historial cargado.
+     * @param animals El registro de animales para asociar con el historial cargado.
      * @return Una lista de MedicalHistory con los historiales médicos cargados.
      * @throws IOException Si ocurre un error al leer el archivo.
      */
-    public static List<MedicalHistory> loadFromCSV(String fileName, List<Animal> animals) throws IOException {
+    public static List<MedicalHistory> loadFromCSV(String fileName, EntityIndex<Animal> animals) throws IOException {
         List<MedicalHistory> histories = new ArrayList<>(); // Lista de historiales médicos
     
-        try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] parts = line.split(",", 2); // Separar ID del animal y los registros
-                int animalId = Integer.parseInt(parts[0].trim()); // ID del animal
-                String recordsPart = parts[1]; // Parte que contiene los registros médicos
-    
-                // Encontrar el animal correspondiente por ID
-                Animal animal = findAnimalById(animalId, animals);
-                if (animal == null) {
-                    throw new IllegalArgumentException("Animal con ID " + animalId + " no encontrado.");
-                }
-    
-                // Crear un historial médico para el animal
-                MedicalHistory history = new MedicalHistory(animal);
-    
-                // Separar los registros médicos (están separados por ';')
-                String[] recordsArray = recordsPart.split(";");
-                for (String recordString : recordsArray) {
-                    MedicalRecord record = MedicalRecord.fromCSV(recordString); // Convertir cada registro
-                    history.addRecord(record); // Añadir registro al historial
-                }
-    
-                histories.add(history); // Añadir historial a la lista
-            }
+        CsvTokenizer tokenizer = CsvTokenizer.open(fileName);
+        while (tokenizer.nextLine()) {
+            MedicalHistory history = MedicalHistory.fromCSV(tokenizer, animals);
+            histories.add(history); // Añadir historial a la lista
         }
     
         return histories;
     }
-    
-    /**
-     * Método Auxiliar para buscar un objeto Animal en una lista de animales según su ID.
-     * 
-     * @param id El ID del animal que se desea buscar.
-     * @param animals La lista de animales en la que se realizará la búsqueda.
-     * @return El objeto Animal cuyo ID coincide con el proporcionado, o null si no se encuentra.
-     */
-    private static Animal findAnimalById(int id, List<Animal> animals) {
-        for (Animal animal : animals) {
-            if (animal.getId() == id) {
-                return animal; // Retornar el animal si el ID coincide
-            }
-        }
-        return null; // Retornar null si no se encuentra el animal
-    }
 }
\ No newline at end of file
@@ -0,0 +1,352 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase MedicalHistoryStore
+ *
+ * La clase MedicalHistoryStore da acceso a los historiales médicos por animal.
+ * Tiene dos modos:
+ * - Completo: todos los historiales se cargan al iniciar (comportamiento original).
+ * - Bajo demanda: al iniciar solo se construye un índice de ID de animal a la posición
+ *   y el largo de su línea en el CSV. El historial de un animal se lee del archivo la
+ *   primera vez que se consulta, y los consultados recientemente se conservan en un
+ *   caché acotado. Los historiales modificados se mantienen en memoria hasta guardarlos.
+ *   El archivo se abre solo durante cada lectura, para que se pueda reemplazar al guardar.
+ *   Al abrir el archivo se puede indexar el texto de los registros para las búsquedas
+ *   en el mismo recorrido, sin conservar los historiales.
+ *
+ * Sus métodos están sincronizados porque el guardado automático lo recorre desde
+ * otro hilo mientras el menú consulta historiales.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MedicalHistoryStore {
+    private static final int CACHE_SIZE = 64;  // Historiales sin cambios que se conservan en memoria
+
+    private final boolean lazy;                      // true si los historiales se leen bajo demanda
+    private final EntityIndex<Animal> animals;    // Registro de animales para asociar los historiales
+    private List<Entry> entries;                     // Historiales en el orden del archivo
+    private EntityRegistry<Entry> index;             // Índice de historiales por ID de animal
+    private String fileName;                         // Archivo de historiales (solo en modo bajo demanda)
+    private final Map<Integer, MedicalHistory> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, MedicalHistory> eldest) {
+            return size() > CACHE_SIZE;  // Descartar el historial consultado hace más tiempo
+        }
+    };
+
+    /**
+     * Representa un historial del almacén: la posición de su línea en el archivo y,
+     * si está cargado en forma permanente, el historial completo.
+     */
+    private static class Entry {
+        private final int animalId;       // ID del animal del historial
+        private final int offset;         // Inicio de su línea en el archivo, o -1 si es nuevo
+        private final int length;         // Bytes de su línea en el archivo, sin el salto de línea
+        private MedicalHistory history;   // Historial en memoria (modo completo, nuevo o modificado)
+        private boolean modified;         // true si cambió después del último guardado
+
+        private Entry(int animalId, int offset, int length, MedicalHistory history) {
+            this.animalId = animalId;
+            this.offset = offset;
+            this.length = length;
+            this.history = history;
+        }
+
+        private int getAnimalId() {
+            return animalId;
+        }
+    }
+
+    /**
+     * Constructor que crea un almacén vacío.
+     */
+    private MedicalHistoryStore(boolean lazy, EntityIndex<Animal> animals) {
+        this.lazy = lazy;
+        this.animals = animals;
+        this.entries = new ArrayList<>();
+        this.index = new EntityRegistry<>(Entry::getAnimalId);
+    }
+
+    /**
+     * Crea un almacén en modo completo con historiales ya cargados.
+     *
+     * @param histories La lista de historiales médicos.
+     * @return Un almacén que contiene todos los historiales.
+     */
+    public static MedicalHistoryStore of(List<MedicalHistory> histories) {
+        MedicalHistoryStore store = new MedicalHistoryStore(false, null);
+        for (MedicalHistory history : histories) {
+            store.add(new Entry(history.getAnimal().getId(), -1, 0, history));
+        }
+        return store;
+    }
+
+    /**
+     * Crea un almacén en modo bajo demanda sobre un archivo CSV de historiales.
+     * Solo se lee el ID de animal de cada línea; los registros médicos se leen al consultarlos.
+     *
+     * @param fileName El nombre del archivo CSV de historiales.
+     * @param animals El registro de animales para asociar los historiales.
+     * @return Un almacén con el índice del archivo.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    public static MedicalHistoryStore openLazy(String fileName, EntityIndex<Animal> animals) throws IOException {
+        return openLazy(fileName, animals, null);
+    }
+
+    /**
+     * Crea un almacén en modo bajo demanda sobre un archivo CSV de historiales y, en el
+     * mismo recorrido, agrega los registros médicos al índice de búsqueda por animal y
+     * número de registro. Los registros no se conservan en memoria.
+     *
+     * @param fileName El nombre del archivo CSV de historiales.
+     * @param animals El registro de animales para asociar los historiales.
+     * @param searchIndex El índice de búsqueda de los registros, o null para no indexarlos.
+     * @return Un almacén con el índice del archivo.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    public static MedicalHistoryStore openLazy(String fileName, EntityIndex<Animal> animals, SearchIndex searchIndex) throws IOException {
+        MedicalHistoryStore store = new MedicalHistoryStore(true, animals);
+        store.buildIndex(fileName, searchIndex);
+        return store;
+    }
+
+    /**
+     * Indica si los historiales se leen bajo demanda.
+     *
+     * @return true en modo bajo demanda, false en modo completo.
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Busca el historial médico de un animal, leyéndolo del archivo si es necesario.
+     *
+     * @param animal El animal del que se busca historial médico.
+     * @return El historial médico del animal, o null si no tiene.
+     */
+    public synchronized MedicalHistory find(Animal animal) {
+        Entry entry = index.findById(animal.getId());
+        if (entry == null) {
+            return null;
+        }
+        if (entry.history != null) {
+            return entry.history;
+        }
+        MedicalHistory history = cache.get(entry.animalId);
+        if (history == null) {
+            history = read(entry);
+            cache.put(entry.animalId, history);
+        }
+        return history;
+    }
+
+    /**
+     * Busca el historial médico de un animal para modificarlo, creándolo si no existe.
+     * El historial queda en memoria hasta el siguiente guardado.
+     *
+     * @param animal El animal del que se desea el historial médico.
+     * @return El historial médico del animal.
+     */
+    public synchronized MedicalHistory findForUpdate(Animal animal) {
+        MedicalHistory history = find(animal);
+        if (history == null) {
+            history = new MedicalHistory(animal);
+            add(new Entry(animal.getId(), -1, 0, history));
+        } else {
+            cache.remove(animal.getId());
+        }
+        Entry entry = index.findById(animal.getId());
+        entry.history = history;  // Conservarlo aunque salga del caché
+        entry.modified = true;
+        return history;
+    }
+
+    /**
+     * Devuelve todos los historiales médicos. En modo bajo demanda obliga a leer el archivo completo.
+     *
+     * @return La lista de historiales médicos en el orden del archivo.
+     */
+    public synchronized List<MedicalHistory> getAll() {
+        List<MedicalHistory> histories = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            histories.add(entry.history != null ? entry.history : read(entry));
+        }
+        return histories;
+    }
+
+    /**
+     * Convierte todos los historiales en líneas CSV, en el orden del archivo. En modo
+     * bajo demanda, las líneas de los historiales que no se modificaron se copian tal
+     * cual, sin interpretarlas. Los historiales quedan marcados como guardados.
+     *
+     * @return Las líneas CSV de todos los historiales.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    public synchronized List<String> toCSVLines() throws IOException {
+        List<String> lines = new ArrayList<>(entries.size());
+        FileChannel channel = null;
+        try {
+            for (Entry entry : entries) {
+                if (entry.history != null) {
+                    lines.add(entry.history.toCSV());
+                } else {
+                    if (channel == null) {
+                        channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+                    }
+                    lines.add(new String(readLine(channel, entry), StandardCharsets.UTF_8));
+                }
+            }
+        } finally {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+        for (Entry entry : entries) {
+            entry.modified = false;
+        }
+        return lines;
+    }
+
+    /**
+     * Reemplaza el archivo de historiales por su versión preparada con
+     * {@code AtomicFileWriter.prepare} y, en modo bajo demanda, lo vuelve a indexar.
+     * Las consultas esperan a que termine, para no leer el archivo nuevo con las
+     * posiciones del anterior.
+     *
+     * @param fileName El nombre del archivo CSV.
+     * @throws IOException Si ocurre un error al reemplazar o leer el archivo.
+     */
+    public synchronized void replaceFile(String fileName) throws IOException {
+        AtomicFileWriter.commit(fileName);
+        reload(fileName);
+    }
+
+    /**
+     * Vuelve a indexar el archivo después de guardarlo (solo en modo bajo demanda).
+     * Los historiales modificados después de {@link #toCSVLines()} se conservan en memoria;
+     * los demás pasan al caché.
+     *
+     * @param fileName El nombre del archivo CSV recién guardado.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    private void reload(String fileName) throws IOException {
+        if (!lazy) {
+            return;
+        }
+        List<Entry> previous = entries;
+        buildIndex(fileName, null);  // Los registros ya están en el índice de búsqueda
+        for (Entry old : previous) {
+            if (old.history == null) {
+                continue;
+            }
+            Entry entry = index.findById(old.animalId);
+            if (old.modified) {
+                if (entry == null) {
+                    add(old);  // Historial nuevo que todavía no está en el archivo
+                } else {
+                    entry.history = old.history;
+                    entry.modified = true;
+                }
+            } else {
+                cache.put(old.animalId, old.history);
+            }
+        }
+    }
+
+    /**
+     * Método auxiliar que recorre el archivo y registra la posición de cada historial.
+     * Si recibe un índice de búsqueda, también le agrega los registros de cada historial.
+     */
+    private void buildIndex(String fileName, SearchIndex searchIndex) throws IOException {
+        entries = new ArrayList<>();
+        index = new EntityRegistry<>(Entry::getAnimalId);
+        this.fileName = fileName;
+        CsvTokenizer tokenizer = CsvTokenizer.open(fileName);  // Solo durante el recorrido
+        while (tokenizer.nextLine()) {
+            int animalId = tokenizer.nextInt();
+            boolean first = index.findById(animalId) == null;  // Las búsquedas usan el primer historial del animal
+            add(new Entry(animalId, tokenizer.currentLineStart(), tokenizer.currentLineLength(), null));
+            if (searchIndex != null && first) {
+                indexRecords(tokenizer, animalId, searchIndex);
+            }
+        }
+    }
+
+    /**
+     * Método auxiliar que agrega al índice de búsqueda los registros de la línea actual.
+     * Si la línea no es válida, sus registros no se indexan; el error aparece al consultarla.
+     */
+    private void indexRecords(CsvTokenizer tokenizer, int animalId, SearchIndex searchIndex) {
+        Animal animal = animals.findById(animalId);
+        if (animal == null) {
+            return;
+        }
+        List<MedicalRecord> records = new ArrayList<>();
+        try {
+            while (tokenizer.hasMoreFields()) {
+                records.add(MedicalRecord.fromCSV(tokenizer));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return;
+        }
+        for (int recordNumber = 0; recordNumber < records.size(); recordNumber++) {
+            searchIndex.addRecord(animal, recordNumber, records.get(recordNumber));
+        }
+    }
+
+    /**
+     * Método auxiliar que agrega un historial. Si el animal ya tenía uno, se conserva
+     * el primero para las búsquedas, igual que al recorrer la lista.
+     */
+    private void add(Entry entry) {
+        entries.add(entry);
+        if (index.findById(entry.animalId) == null) {
+            index.register(entry);
+        }
+    }
+
+    /**
+     * Método auxiliar que lee del archivo el historial de una entrada.
+     */
+    private MedicalHistory read(Entry entry) {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            return MedicalHistory.fromCSV(CsvTokenizer.ofLine(readLine(channel, entry)), animals);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Método auxiliar que lee los bytes de la línea de una entrada.
+     */
+    private static byte[] readLine(FileChannel channel, Entry entry) throws IOException {
+        ByteBuffer line = ByteBuffer.allocate(entry.length);
+        while (line.hasRemaining()) {
+            if (channel.read(line, entry.offset + line.position()) < 0) {
+                throw new EOFException("Fin de archivo inesperado al leer el historial del animal " + entry.animalId);
+            }
+        }
+        return line.array();
+    }
+}
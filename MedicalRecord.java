@@ -11,7 +11,7 @@
  * 
  * @author Adriana Martinez 
  * Fecha de creación: 18/09/2024 
- * Última modificación: 13/10/2024
+ * Última modificación: 18/10/2026
  */
 
 import java.time.LocalDate;
@@ -134,15 +134,36 @@ public class MedicalRecord {
      * @throws DateTimeParseException si la fecha en el CSV no es válida.
      */
     public static MedicalRecord fromCSV(String csvLine) {
-        String[] parts = csvLine.split(","); // Separar los campos del registro médico
-        if (parts.length != 4) {
-            throw new IllegalArgumentException("Línea CSV no válida: " + csvLine);
+        return fromCSV(CsvTokenizer.ofLine(csvLine));
+    }
+
+    /**
+     * Método para cargar un objeto MedicalRecord desde la posición actual de un tokenizador CSV.
+     * El registro termina en el siguiente ";" (separador de registros del historial) o en el fin de la línea,
+     * y debe tener exactamente 4 campos.
+     * @param tokenizer El tokenizador posicionado al inicio del registro médico.
+     * @return El objeto MedicalRecord creado a partir de los campos leídos.
+     * @throws DateTimeParseException si la fecha en el CSV no es válida.
+     * @throws IllegalArgumentException si el registro no tiene exactamente 4 campos.
+     */
+    public static MedicalRecord fromCSV(CsvTokenizer tokenizer) {
+        String[] parts = new String[4]; // Campos del registro médico
+        for (int i = 0; i < parts.length; i++) {
+            if (!tokenizer.hasMoreFields()) {
+                throw new IllegalArgumentException("Línea CSV no válida: " + tokenizer.currentLine());
+            }
+            // Descripciones, tratamientos y veterinarios se repiten mucho: se comparten con el diccionario
+            parts[i] = tokenizer.nextTrimmedString(i < parts.length - 1 ? ',' : ';', StringDictionary.shared());
+        }
+        if (parts[parts.length - 1].indexOf(',') >= 0) {
+            // Después del cuarto campo solo puede seguir otro registro (';') o el fin de la línea
+            throw new IllegalArgumentException("Línea CSV no válida: " + tokenizer.currentLine());
         }
     
-        LocalDate date = LocalDate.parse(parts[0].trim(), DATE_FORMATTER); // Parsear la fecha
-        String description = parts[1].trim();
-        String treatment = parts[2].trim();
-        String veterinarian = parts[3].trim();
+        LocalDate date = LocalDate.parse(parts[0], DATE_FORMATTER); // Parsear la fecha
+        String description = parts[1];
+        String treatment = parts[2];
+        String veterinarian = parts[3];
     
         return new MedicalRecord(date, description, treatment, veterinarian); // Crear el registro médico
     }
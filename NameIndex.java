@@ -0,0 +1,195 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase NameIndex
+ *
+ * La clase NameIndex permite buscar por nombre aunque el nombre esté incompleto o
+ * tenga errores de escritura. Cada nombre se divide en trigramas (grupos de tres
+ * letras consecutivas, sin tildes y en minúsculas) y para cada trigrama se guardan
+ * los elementos que lo contienen. Una búsqueda cuenta los trigramas que cada nombre
+ * comparte con la consulta y devuelve los nombres más parecidos, recorriendo solo
+ * los elementos que comparten al menos un trigrama.
+ *
+ * @param <T> El tipo de elemento indexado (animal, adoptante o voluntario).
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+
+public class NameIndex<T> {
+    private static final double MIN_SCORE = 0.3;  // Parecido mínimo para considerar una coincidencia
+
+    private final Function<T, String> nameExtractor;          // Función que obtiene el nombre de un elemento
+    private final List<T> items = new ArrayList<>();          // Elementos por número
+    private int[] gramCounts = new int[16];                   // Trigramas distintos del nombre de cada elemento
+    private final Map<Long, Postings> postings = new HashMap<>();  // Trigrama -> elementos que lo contienen
+
+    /**
+     * Resultado de una búsqueda: el elemento encontrado y qué tan parecido es su nombre.
+     *
+     * @param <T> El tipo de elemento.
+     */
+    public static class Match<T> {
+        private final T item;        // Elemento encontrado
+        private final double score;  // Parecido entre 0 y 1 (1 indica el mismo nombre)
+
+        private Match(T item, double score) {
+            this.item = item;
+            this.score = score;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Lista de números de elementos de un trigrama, en un arreglo que crece.
+     */
+    private static class Postings {
+        private int[] items = new int[4];
+        private int size;
+
+        private void add(int item) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = item;
+        }
+    }
+
+    /**
+     * Constructor que crea un índice vacío.
+     *
+     * @param nameExtractor Función que obtiene el nombre de un elemento.
+     */
+    public NameIndex(Function<T, String> nameExtractor) {
+        this.nameExtractor = nameExtractor;
+    }
+
+    /**
+     * Crea un índice con todos los elementos de una lista.
+     *
+     * @param list La lista de elementos.
+     * @param nameExtractor Función que obtiene el nombre de un elemento.
+     * @return El índice con los elementos de la lista.
+     */
+    public static <T> NameIndex<T> fromList(List<T> list, Function<T, String> nameExtractor) {
+        NameIndex<T> index = new NameIndex<>(nameExtractor);
+        for (T item : list) {
+            index.add(item);
+        }
+        return index;
+    }
+
+    /**
+     * Agrega un elemento al índice.
+     *
+     * @param item El elemento a agregar.
+     */
+    public void add(T item) {
+        int number = items.size();
+        items.add(item);
+        Set<Long> grams = trigrams(nameExtractor.apply(item));
+        if (number == gramCounts.length) {
+            gramCounts = Arrays.copyOf(gramCounts, number * 2);
+        }
+        gramCounts[number] = grams.size();
+        for (Long gram : grams) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(number);
+        }
+    }
+
+    /**
+     * Busca los elementos cuyo nombre más se parece a la consulta. El parecido es el
+     * coeficiente de Dice entre los trigramas de ambos nombres, de modo que tolera
+     * letras faltantes, sobrantes o cambiadas.
+     *
+     * @param query El nombre (o parte del nombre) a buscar.
+     * @param limit La cantidad máxima de resultados.
+     * @return Los resultados, del más parecido al menos parecido.
+     */
+    public List<Match<T>> search(String query, int limit) {
+        Set<Long> queryGrams = trigrams(query);
+        List<Match<T>> results = new ArrayList<>();
+        if (queryGrams.isEmpty() || limit <= 0) {
+            return results;
+        }
+
+        int[] shared = new int[items.size()];     // Trigramas compartidos con la consulta, por elemento
+        int[] touched = new int[16];              // Elementos con al menos un trigrama compartido
+        int touchedCount = 0;
+        for (Long gram : queryGrams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                continue;
+            }
+            for (int i = 0; i < list.size; i++) {
+                int item = list.items[i];
+                if (shared[item]++ == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = item;
+                }
+            }
+        }
+
+        // Conservar los mejores en un montículo cuyo tope es el peor de los elegidos
+        PriorityQueue<int[]> best = new PriorityQueue<>(limit + 1, (a, b) ->
+            a[1] != b[1] ? Integer.compare(a[1], b[1]) : Integer.compare(b[0], a[0]));
+        for (int i = 0; i < touchedCount; i++) {
+            int item = touched[i];
+            int score = (int) (2_000_000L * shared[item] / (queryGrams.size() + gramCounts[item]));  // Dice en millonésimas
+            if (score >= MIN_SCORE * 1_000_000) {
+                best.add(new int[] { item, score });
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        while (!best.isEmpty()) {
+            int[] entry = best.poll();
+            results.add(0, new Match<>(items.get(entry[0]), entry[1] / 1_000_000.0));
+        }
+        return results;
+    }
+
+    /**
+     * Método auxiliar que obtiene los trigramas distintos de un nombre, sin tildes y en
+     * minúsculas. El nombre se rellena con dos espacios al inicio y uno al final para
+     * que las primeras letras pesen más, como en los índices de trigramas de PostgreSQL.
+     */
+    private static Set<Long> trigrams(String name) {
+        Set<Long> grams = new LinkedHashSet<>();
+        if (name == null) {
+            return grams;
+        }
+        String folded = SearchIndex.fold(name).trim().replaceAll("\\s+", " ");
+        if (folded.isEmpty()) {
+            return grams;
+        }
+        String padded = "  " + folded + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        }
+        return grams;
+    }
+}
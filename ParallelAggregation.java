@@ -0,0 +1,98 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase ParallelAggregation
+ *
+ * La clase ParallelAggregation calcula un resultado acumulado sobre una lista
+ * (conteos, agrupaciones, totales) dividiéndola en tramos que se procesan en
+ * paralelo con fork/join. Cada tramo acumula un resultado parcial y los parciales
+ * se combinan siempre de izquierda a derecha, por lo que el resultado es el mismo
+ * que el de un recorrido secuencial. Las listas pequeñas, o las que no permiten
+ * acceso por posición, se recorren en un solo hilo.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+public class ParallelAggregation {
+    public static final int PARALLEL_THRESHOLD = 10_000;  // Elementos desde los que conviene dividir la lista
+    private static final int MIN_CHUNK = 2_048;           // Tamaño mínimo de un tramo
+
+    /**
+     * Acumula los elementos de una lista, en paralelo si se pide y la lista es grande.
+     *
+     * @param items La lista a recorrer.
+     * @param parallel true para permitir el recorrido en paralelo.
+     * @param identity Crea un resultado parcial vacío.
+     * @param accumulator Agrega un elemento a un resultado parcial.
+     * @param combiner Une dos resultados parciales; el primero corresponde a los elementos anteriores.
+     * @return El resultado de acumular todos los elementos.
+     */
+    public static <T, A> A aggregate(List<T> items, boolean parallel, Supplier<A> identity,
+                                     BiConsumer<A, T> accumulator, BinaryOperator<A> combiner) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (!parallel || parallelism < 2 || items.size() < PARALLEL_THRESHOLD || !(items instanceof RandomAccess)) {
+            A result = identity.get();
+            for (T item : items) {
+                accumulator.accept(result, item);
+            }
+            return result;
+        }
+        int chunk = Math.max(MIN_CHUNK, items.size() / (parallelism * 4));  // Varios tramos por hilo para repartir la carga
+        return ForkJoinPool.commonPool().invoke(new Chunk<>(items, 0, items.size(), chunk, identity, accumulator, combiner));
+    }
+
+    /**
+     * Tarea que acumula un tramo de la lista, o lo divide en dos mitades si es muy grande.
+     */
+    private static class Chunk<T, A> extends RecursiveTask<A> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> items;
+        private final int from;   // Primera posición del tramo
+        private final int to;     // Posición siguiente a la última
+        private final int chunk;  // Tamaño máximo de un tramo sin dividir
+        private final Supplier<A> identity;
+        private final BiConsumer<A, T> accumulator;
+        private final BinaryOperator<A> combiner;
+
+        private Chunk(List<T> items, int from, int to, int chunk, Supplier<A> identity,
+                      BiConsumer<A, T> accumulator, BinaryOperator<A> combiner) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= chunk) {
+                A result = identity.get();
+                for (int i = from; i < to; i++) {
+                    accumulator.accept(result, items.get(i));
+                }
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            Chunk<T, A> left = new Chunk<>(items, from, middle, chunk, identity, accumulator, combiner);
+            Chunk<T, A> right = new Chunk<>(items, middle, to, chunk, identity, accumulator, combiner);
+            left.fork();
+            A rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);  // Siempre izquierda y luego derecha
+        }
+    }
+}
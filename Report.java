@@ -12,21 +12,44 @@
  * Última modificación: 03/11/2024
  */
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.Comparator;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
 
 public class Report {
+    public static final int NO_LIMIT = Integer.MAX_VALUE;  // Límite de elementos para mostrar todo el informe
+    private static final int TOP_VOLUNTEERS = 10;  // Voluntarios del informe de Top 10
+
     private List<Animal> animals;
     private List<Volunteer> volunteers;
     private List<Task> tasks;  // Añadido para manejar tareas
     private List<Resource> resources;
     private List<AdoptionCandidate> adoptionCandidates;
     private List<Adoption> adoptions;
+    private AdoptionIndex adoptionIndex;  // Adopciones por fecha, adoptante y animal
+    private AdoptionCube adoptionCube;    // Conteos de adopciones por mes, raza, peligrosidad y voluntario
+    private ResourceLedger resourceLedger;  // Historial de cantidades de cada recurso
+    private AnimalStatusIndex statusIndex;  // Índices de animales por estado de adopción y peligrosidad
+    private ShelterStats stats;             // Totales de los encabezados, actualizados con cada cambio
+    private boolean parallel;               // Calcular los totales de listas grandes en paralelo
+    private ReportCache cache;              // Informes ya generados, o null para generarlos siempre
+
+    // Listas de las que depende cada informe guardado en la caché
+    private static final DataFile[] ADOPTIONS_BY_DATE_DATA = { DataFile.ADOPTIONS, DataFile.ANIMALS, DataFile.ADOPTION_CANDIDATES };
+    private static final DataFile[] MONTHLY_STATS_DATA = { DataFile.ADOPTIONS, DataFile.ANIMALS };
+    private static final DataFile[] TOP_ADOPTERS_DATA = { DataFile.ADOPTIONS, DataFile.ANIMALS, DataFile.ADOPTION_CANDIDATES, DataFile.VOLUNTEERS };
 
     /**
      * Constructor que inicializa un informe con listas de animales, voluntarios, recursos, 
@@ -38,14 +61,55 @@ public class Report {
      * @param resources          La lista de recursos disponibles en el refugio.
      * @param tasks              La lista de tareas que se deben realizar en el refugio.
      * @param adoptionCandidates La lista de candidatos que están en proceso de adopción.
+     * @param adoptions          La lista de adopciones realizadas.
+     * @param adoptionIndex      El índice de adopciones por fecha, adoptante y animal.
+     * @param adoptionCube       Los conteos de adopciones por mes, raza, peligrosidad y voluntario.
+     * @param resourceLedger     El historial de cantidades de cada recurso.
+     * @param statusIndex        Los índices de animales por estado de adopción y peligrosidad.
+     * @param stats              Los totales de animales, tareas y recursos.
      */
-    public Report(List<Animal> animals, List<Volunteer> volunteers, List<Resource> resources, List<Task> tasks, List<AdoptionCandidate> adoptionCandidates, List<Adoption> adoptions) {
+    public Report(List<Animal> animals, List<Volunteer> volunteers, List<Resource> resources, List<Task> tasks, List<AdoptionCandidate> adoptionCandidates, List<Adoption> adoptions, AdoptionIndex adoptionIndex, AdoptionCube adoptionCube, ResourceLedger resourceLedger, AnimalStatusIndex statusIndex, ShelterStats stats) {
         this.animals = animals;
         this.volunteers = volunteers;
         this.resources = resources;
         this.tasks = tasks;
         this.adoptionCandidates = adoptionCandidates;
         this.adoptions = adoptions;
+        this.adoptionIndex = adoptionIndex;
+        this.adoptionCube = adoptionCube;
+        this.resourceLedger = resourceLedger;
+        this.statusIndex = statusIndex;
+        this.stats = stats;
+    }
+
+    /**
+     * Activa o desactiva el cálculo en paralelo de los totales de los informes. Las
+     * listas con menos de ParallelAggregation.PARALLEL_THRESHOLD elementos se
+     * recorren siempre en un solo hilo, y el texto del informe es el mismo en ambos modos.
+     *
+     * @param parallel true para calcular en paralelo.
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Asigna la caché para los informes de adopciones por período, estadísticas mensuales
+     * y adoptantes con más adopciones. Quien modifica las listas debe avisar a la caché
+     * con {@code ReportCache.changed}. Solo se guardan los informes completos, que se
+     * arman en memoria antes de imprimirse; los informes con límite no usan la caché.
+     *
+     * @param cache La caché de informes, o null para generarlos siempre.
+     */
+    public void setCache(ReportCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * @return La caché de informes, o null si no hay.
+     */
+    public ReportCache getCache() {
+        return cache;
     }
 
     /**
@@ -57,18 +121,46 @@ public class Report {
  * @return String con el informe detallado
  */
 public String generateTopAdoptersReport(LocalDate startDate, LocalDate endDate) {
+    return render(out -> writeTopAdoptersReport(out, startDate, endDate, NO_LIMIT));
+}
+
+/**
+ * Escribe el informe de adoptantes por cantidad de adopciones a medida que se genera.
+ * Las estadísticas globales cuentan a todos los adoptantes aunque se muestren menos.
+ * 
+ * @param out Destino del informe
+ * @param startDate Fecha inicial para el filtrado (opcional, puede ser null)
+ * @param endDate Fecha final para el filtrado (opcional, puede ser null)
+ * @param limit Máximo de adoptantes a mostrar (NO_LIMIT para mostrar todos)
+ */
+public void writeTopAdoptersReport(PrintWriter out, LocalDate startDate, LocalDate endDate, int limit) {
+    writeCached(out, "adoptantesPorPeriodo|" + startDate + "|" + endDate, TOP_ADOPTERS_DATA, limit,
+        cached -> writeTopAdoptersReportUncached(cached, startDate, endDate, limit));
+}
+
+/**
+ * Método auxiliar que escribe el informe de adoptantes por cantidad de adopciones sin usar la caché.
+ */
+private void writeTopAdoptersReportUncached(PrintWriter out, LocalDate startDate, LocalDate endDate, int limit) {
     StringBuilder report = new StringBuilder();
     report.append("\n=== Informe de Adoptantes por Cantidad de Adopciones ===\n\n");
 
     // Crear una lista temporal de adoptantes con sus adopciones en el período
     List<AdoptionCandidate> filteredAdopters = new ArrayList<>(adoptionCandidates);
+    Map<AdoptionCandidate, List<Animal>> adoptedInPeriod = ParallelAggregation.aggregate(filteredAdopters, parallel,
+        HashMap::new,
+        (partial, adopter) -> partial.put(adopter, getAdoptedAnimalsInPeriod(adopter, startDate, endDate)),  // Una sola vez por adoptante
+        (left, right) -> {
+            left.putAll(right);
+            return left;
+        });
     
     // Ordenar adoptantes por cantidad de animales adoptados (de mayor a menor)
     Collections.sort(filteredAdopters, new Comparator<AdoptionCandidate>() {
         @Override
         public int compare(AdoptionCandidate a1, AdoptionCandidate a2) {
-            int adopciones1 = getAdoptionCountInPeriod(a1, startDate, endDate);
-            int adopciones2 = getAdoptionCountInPeriod(a2, startDate, endDate);
+            int adopciones1 = adoptedInPeriod.get(a1).size();
+            int adopciones2 = adoptedInPeriod.get(a2).size();
             return Integer.compare(adopciones2, adopciones1);
         }
     });
@@ -78,28 +170,34 @@ public String generateTopAdoptersReport(LocalDate startDate, LocalDate endDate)
     int totalDangerousAnimals = 0;
     
     // Generar el informe detallado
+    int listed = 0;
     for (AdoptionCandidate adopter : filteredAdopters) {
-        List<Animal> adoptedAnimals = getAdoptedAnimalsInPeriod(adopter, startDate, endDate);
+        List<Animal> adoptedAnimals = adoptedInPeriod.get(adopter);
         int adoptionCount = adoptedAnimals.size();
         
         if (adoptionCount > 0) {
-            report.append("ID Adoptante: ").append(adopter.getId()).append("\n");
-            report.append("Nombre: ").append(adopter.getName()).append("\n");
-            report.append("Contacto: ").append(adopter.getContactInfo()).append("\n");
-            report.append("Total de adopciones: ").append(adoptionCount).append("\n");
-            
-            // Detalles de los animales adoptados
-            report.append("Animales adoptados:\n");
+            boolean shown = !isPageFull(report, listed++, limit);  // Pasado el límite solo se cuenta
+            if (shown) {
+                report.append("ID Adoptante: ").append(adopter.getId()).append("\n");
+                report.append("Nombre: ").append(adopter.getName()).append("\n");
+                report.append("Contacto: ").append(adopter.getContactInfo()).append("\n");
+                report.append("Total de adopciones: ").append(adoptionCount).append("\n");
+                
+                // Detalles de los animales adoptados
+                report.append("Animales adoptados:\n");
+            }
             int dangerousCount = 0;
             
             for (Animal animal : adoptedAnimals) {
                 Adoption adoption = findAdoptionByAnimal(animal);
                 if (adoption != null) {
-                    report.append("  - ").append(animal.getName())
-                          .append(" (").append(animal.getBreed()).append(")")
-                          .append(", Adoptado el: ").append(adoption.getAdoptionDate())
-                          .append(", Peligrosidad: ").append(animal.getDangerLevelDescription())
-                          .append("\n");
+                    if (shown) {
+                        report.append("  - ").append(animal.getName())
+                              .append(" (").append(animal.getBreed()).append(")")
+                              .append(", Adoptado el: ").append(adoption.getAdoptionDate())
+                              .append(", Peligrosidad: ").append(animal.getDangerLevelDescription())
+                              .append("\n");
+                    }
                     
                     if (animal.getDangerLevel()) {
                         dangerousCount++;
@@ -108,16 +206,19 @@ public String generateTopAdoptersReport(LocalDate startDate, LocalDate endDate)
                 }
             }
             
-            // Estadísticas del adoptante
-            report.append("Animales peligrosos adoptados: ").append(dangerousCount)
-                  .append(" (").append(String.format("%.1f", (dangerousCount * 100.0 / adoptionCount)))
-                  .append("%)\n");
-            
-            report.append("Voluntario asignado: ")
-                  .append(adopter.getVolunteer().getName())
-                  .append("\n");
-            
-            report.append("----------------------------------------\n");
+            if (shown) {
+                // Estadísticas del adoptante
+                report.append("Animales peligrosos adoptados: ").append(dangerousCount)
+                      .append(" (").append(String.format("%.1f", (dangerousCount * 100.0 / adoptionCount)))
+                      .append("%)\n");
+                
+                report.append("Voluntario asignado: ")
+                      .append(adopter.getVolunteer().getName())
+                      .append("\n");
+                
+                report.append("----------------------------------------\n");
+            }
+            flush(report, out);
             totalAdoptions += adoptionCount;
         }
     }
@@ -132,24 +233,7 @@ public String generateTopAdoptersReport(LocalDate startDate, LocalDate endDate)
               .append("%\n");
     }
     
-    return report.toString();
-}
-
-/**
- * Método auxiliar para obtener el número de adopciones de un adoptante en un período específico
- */
-private int getAdoptionCountInPeriod(AdoptionCandidate adopter, LocalDate startDate, LocalDate endDate) {
-    if (startDate == null || endDate == null) {
-        return adopter.getAnimals().size();
-    }
-    
-    return (int) adoptions.stream()
-        .filter(adoption -> adoption.getAdopter().equals(adopter))
-        .filter(adoption -> {
-            LocalDate adoptionDate = adoption.getAdoptionDate();
-            return !adoptionDate.isBefore(startDate) && !adoptionDate.isAfter(endDate);
-        })
-        .count();
+    flush(report, out);
 }
 
 /**
@@ -160,8 +244,7 @@ private List<Animal> getAdoptedAnimalsInPeriod(AdoptionCandidate adopter, LocalD
         return adopter.getAnimals();
     }
     
-    return adoptions.stream()
-        .filter(adoption -> adoption.getAdopter().equals(adopter))
+    return adoptionIndex.findByAdopter(adopter).stream()  // Solo las adopciones de este adoptante
         .filter(adoption -> {
             LocalDate adoptionDate = adoption.getAdoptionDate();
             return !adoptionDate.isBefore(startDate) && !adoptionDate.isAfter(endDate);
@@ -174,18 +257,10 @@ private List<Animal> getAdoptedAnimalsInPeriod(AdoptionCandidate adopter, LocalD
  * Método para filtrar adopciones por rango de fechas.
  * @param startDate Fecha de inicio del período
  * @param endDate Fecha de fin del período
- * @return Lista de adopciones dentro del rango de fechas especificado
+ * @return Lista de adopciones dentro del rango de fechas especificado, ordenada por fecha
  */
 private List<Adoption> filterAdoptionsByDateRange(LocalDate startDate, LocalDate endDate) {
-    List<Adoption> filteredAdoptions = new ArrayList<>();
-    for (Adoption adoption : adoptions) {
-        LocalDate adoptionDate = adoption.getAdoptionDate();
-        if ((adoptionDate.isEqual(startDate) || adoptionDate.isAfter(startDate)) && 
-            (adoptionDate.isEqual(endDate) || adoptionDate.isBefore(endDate))) {
-            filteredAdoptions.add(adoption);
-        }
-    }
-    return filteredAdoptions;
+    return adoptionIndex.findBetween(startDate, endDate);  // Solo se recorren las adopciones del rango
 }
 
 /**
@@ -195,6 +270,25 @@ private List<Adoption> filterAdoptionsByDateRange(LocalDate startDate, LocalDate
  * @return String con el informe de adopciones del período
  */
 public String generateAdoptionReportByDate(LocalDate startDate, LocalDate endDate) {
+    return render(out -> writeAdoptionReportByDate(out, startDate, endDate, NO_LIMIT));
+}
+
+/**
+ * Escribe el informe de adopciones de un período a medida que se genera.
+ * @param out Destino del informe
+ * @param startDate Fecha de inicio del período
+ * @param endDate Fecha de fin del período
+ * @param limit Máximo de adopciones a mostrar (NO_LIMIT para mostrar todas)
+ */
+public void writeAdoptionReportByDate(PrintWriter out, LocalDate startDate, LocalDate endDate, int limit) {
+    writeCached(out, "adopcionesPorPeriodo|" + startDate + "|" + endDate, ADOPTIONS_BY_DATE_DATA, limit,
+        cached -> writeAdoptionReportByDateUncached(cached, startDate, endDate, limit));
+}
+
+/**
+ * Método auxiliar que escribe el informe de adopciones de un período sin usar la caché.
+ */
+private void writeAdoptionReportByDateUncached(PrintWriter out, LocalDate startDate, LocalDate endDate, int limit) {
     List<Adoption> filteredAdoptions = filterAdoptionsByDateRange(startDate, endDate);
     StringBuilder report = new StringBuilder();
     DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
@@ -208,7 +302,11 @@ public String generateAdoptionReportByDate(LocalDate startDate, LocalDate endDat
     if (filteredAdoptions.isEmpty()) {
         report.append("No se registraron adopciones en este período.\n");
     } else {
+        int listed = 0;
         for (Adoption adoption : filteredAdoptions) {
+            if (isPageFull(report, listed++, limit)) {
+                break;
+            }
             Animal animal = adoption.getAnimal();
             AdoptionCandidate adopter = adoption.getAdopter();
             report.append("Fecha: ").append(adoption.getAdoptionDate().format(formatter)).append("\n")
@@ -217,10 +315,11 @@ public String generateAdoptionReportByDate(LocalDate startDate, LocalDate endDat
                   .append("Adoptante: ").append(adopter.getName())
                   .append(", Contacto: ").append(adopter.getContactInfo()).append("\n")
                   .append("--------------------------------\n");
+            flush(report, out);
         }
     }
 
-    return report.toString();
+    flush(report, out);
 }
 
 /**
@@ -230,26 +329,149 @@ public String generateAdoptionReportByDate(LocalDate startDate, LocalDate endDat
  * @return String con las estadísticas mensuales
  */
 public String generateMonthlyAdoptionStats(int year, int month) {
-    LocalDate startDate = LocalDate.of(year, month, 1);
-    LocalDate endDate = startDate.plusMonths(1).minusDays(1);
-    List<Adoption> monthAdoptions = filterAdoptionsByDateRange(startDate, endDate);
-    
+    return render(out -> writeMonthlyAdoptionStats(out, year, month));
+}
+
+/**
+ * Escribe las estadísticas mensuales de adopciones.
+ * @param out Destino de las estadísticas
+ * @param year Año para generar estadísticas
+ * @param month Mes para generar estadísticas
+ */
+public void writeMonthlyAdoptionStats(PrintWriter out, int year, int month) {
+    writeCached(out, "estadisticasMensuales|" + year + "|" + month, MONTHLY_STATS_DATA, NO_LIMIT,
+        cached -> writeMonthlyAdoptionStatsUncached(cached, year, month));
+}
+
+/**
+ * Método auxiliar que escribe las estadísticas mensuales de adopciones sin usar la caché.
+ */
+private void writeMonthlyAdoptionStatsUncached(PrintWriter out, int year, int month) {
+    YearMonth yearMonth = YearMonth.of(year, month);
+    // Conteos del cubo, sin recorrer las adopciones
+    writeMonthlyAdoptionStats(out, yearMonth, adoptionCube.count(yearMonth), adoptionCube.countDangerous(yearMonth));
+}
+
+/**
+ * Escribe las estadísticas de adopciones de un mes con los conteos ya calculados.
+ * También lo usa {@link ReportBatch} para cada mes con adopciones.
+ * @param out Destino de las estadísticas
+ * @param yearMonth Mes de las estadísticas
+ * @param monthAdoptions Cantidad de adopciones del mes
+ * @param dangerousAnimals Cantidad de animales peligrosos adoptados en el mes
+ */
+static void writeMonthlyAdoptionStats(PrintWriter out, YearMonth yearMonth, int monthAdoptions, long dangerousAnimals) {
     StringBuilder stats = new StringBuilder();
     stats.append("\n=== Estadísticas de Adopciones ===\n")
-         .append("Mes: ").append(startDate.getMonth()).append(" ").append(year).append("\n")
-         .append("Total de adopciones: ").append(monthAdoptions.size()).append("\n");
+         .append("Mes: ").append(yearMonth.getMonth()).append(" ").append(yearMonth.getYear()).append("\n")
+         .append("Total de adopciones: ").append(monthAdoptions).append("\n");
 
     // Estadísticas adicionales
-    long dangerousAnimals = monthAdoptions.stream()
-        .filter(a -> a.getAnimal().getDangerLevel())
-        .count();
-
     stats.append("Animales peligrosos adoptados: ").append(dangerousAnimals).append("\n")
          .append("Porcentaje de animales peligrosos: ")
-         .append(monthAdoptions.isEmpty() ? 0 : (dangerousAnimals * 100.0 / monthAdoptions.size()))
+         .append(monthAdoptions == 0 ? 0 : (dangerousAnimals * 100.0 / monthAdoptions))
          .append("%\n");
 
-    return stats.toString();
+    flush(stats, out);
+}
+
+/**
+ * Genera un informe con la cantidad de adopciones de cada mes en un rango de años.
+ * @param startYear Año inicial
+ * @param endYear Año final
+ * @return String con la tendencia de adopciones
+ */
+public String generateAdoptionTrendReport(int startYear, int endYear) {
+    return render(out -> writeAdoptionTrendReport(out, startYear, endYear));
+}
+
+/**
+ * Escribe la cantidad de adopciones, y de animales peligrosos, de cada mes en un rango
+ * de años. Se muestran los meses entre la primera y la última adopción del rango,
+ * incluidos los meses sin adopciones. Lee solo los conteos del cubo de adopciones.
+ * @param out Destino del informe
+ * @param startYear Año inicial
+ * @param endYear Año final
+ */
+public void writeAdoptionTrendReport(PrintWriter out, int startYear, int endYear) {
+    StringBuilder report = new StringBuilder();
+    report.append("\n=== Tendencia de Adopciones ===\n")
+          .append("Período: ").append(startYear).append(" - ").append(endYear).append("\n")
+          .append("================================\n");
+
+    // Recorrer solo desde el primer hasta el último mes del rango que tienen adopciones
+    YearMonth first = adoptionCube.firstMonth(YearMonth.of(startYear, 1), YearMonth.of(endYear, 12));
+    YearMonth last = adoptionCube.lastMonth(YearMonth.of(startYear, 1), YearMonth.of(endYear, 12));
+    if (first == null) {
+        report.append("No se registraron adopciones en este período.\n");
+    } else {
+        int totalAdoptions = 0;
+        int totalDangerous = 0;
+        report.append(String.format("%-9s %11s %11s\n", "Mes", "Adopciones", "Peligrosos"));
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            int count = adoptionCube.count(month);
+            int dangerous = adoptionCube.countDangerous(month);
+            report.append(String.format("%-9s %11d %11d\n", month, count, dangerous));
+            flush(report, out);
+            totalAdoptions += count;
+            totalDangerous += dangerous;
+        }
+        report.append("--------------------------------\n")
+              .append("Total de adopciones: ").append(totalAdoptions).append("\n")
+              .append("Animales peligrosos adoptados: ").append(totalDangerous)
+              .append(" (").append(String.format("%.1f", totalDangerous * 100.0 / totalAdoptions)).append("%)\n");
+    }
+    flush(report, out);
+}
+
+/**
+ * Genera el detalle de las adopciones de un mes por peligrosidad, raza y voluntario.
+ * @param year Año del mes
+ * @param month Mes (1-12)
+ * @return String con el detalle de adopciones del mes
+ */
+public String generateAdoptionDrillDownReport(int year, int month) {
+    return render(out -> writeAdoptionDrillDownReport(out, year, month));
+}
+
+/**
+ * Escribe el detalle de las adopciones de un mes por peligrosidad, raza y voluntario.
+ * Lee solo los conteos del cubo de adopciones.
+ * @param out Destino del informe
+ * @param year Año del mes
+ * @param month Mes (1-12)
+ */
+public void writeAdoptionDrillDownReport(PrintWriter out, int year, int month) {
+    YearMonth yearMonth = YearMonth.of(year, month);
+    int total = adoptionCube.count(yearMonth);
+    int dangerous = adoptionCube.countDangerous(yearMonth);
+
+    StringBuilder report = new StringBuilder();
+    report.append("\n=== Detalle de Adopciones del Mes ===\n")
+          .append("Mes: ").append(yearMonth.getMonth()).append(" ").append(year).append("\n")
+          .append("Total de adopciones: ").append(total).append("\n");
+
+    if (total == 0) {
+        report.append("No se registraron adopciones en este mes.\n");
+    } else {
+        report.append("Animales peligrosos: ").append(dangerous)
+              .append(" | No peligrosos: ").append(total - dangerous).append("\n");
+
+        report.append("\n--- Por raza ---\n");
+        for (Map.Entry<String, int[]> breed : adoptionCube.countByBreed(yearMonth).entrySet()) {
+            report.append(breed.getKey()).append(": ").append(breed.getValue()[0])
+                  .append(" (").append(breed.getValue()[1]).append(" peligrosos)\n");
+            flush(report, out);
+        }
+
+        report.append("\n--- Por voluntario ---\n");
+        for (Map.Entry<String, int[]> volunteer : adoptionCube.countByVolunteer(yearMonth).entrySet()) {
+            report.append(volunteer.getKey()).append(": ").append(volunteer.getValue()[0])
+                  .append(" (").append(volunteer.getValue()[1]).append(" peligrosos)\n");
+            flush(report, out);
+        }
+    }
+    flush(report, out);
 }
 
     /**
@@ -258,40 +480,52 @@ public String generateMonthlyAdoptionStats(int year, int month) {
      * @return Un {@code String} que contiene el informe de adopciones realizadas.
      */
     public String generateAdoptionReport() {
+        return render(out -> writeAdoptionReport(out, NO_LIMIT));
+    }
+
+    /**
+     * Escribe el informe de adopciones a medida que se genera.
+     * 
+     * @param out Destino del informe.
+     * @param limit Máximo de animales adoptados a mostrar ({@code NO_LIMIT} para mostrar todos).
+     */
+    public void writeAdoptionReport(PrintWriter out, int limit) {
         StringBuilder report = new StringBuilder();  // Usar StringBuilder para construir el informe
         report.append("\n")
             .append("=== Informe de Adopciones ===\n");
         
-        boolean hasAdoptions = false;  // Para verificar si hay animales adoptados
+        boolean hasAdoptions = statusIndex.countAdopted() > 0;  // Para verificar si hay animales adoptados
     
-        // Recorrer la lista de animales
-        for (Animal animal : animals) {
-            if (animal.isAdopted()) {  // Verificar si el animal está adoptado
-                hasAdoptions = true;
-                Adoption adoption = findAdoptionByAnimal(animal);  // Encontrar la adopción del animal
-                if (adoption != null) {
-                    AdoptionCandidate adopter = adoption.getAdopter();  // Obtener el adoptante
-                    report.append("Animal: ").append(animal.getName())
-                        .append(", Raza: ").append(animal.getBreed())
-                        .append(" | Adoptante: ").append(adopter.getName())
-                        .append(", Contacto: ").append(adopter.getContactInfo())
-                        .append(", Fecha de Adopción: ").append(adoption.getAdoptionDate())  // Agregar fecha de adopción
-                        .append("\n")
-                        .append("=================================\n");
-                } else {
-                    report.append("Animal: ").append(animal.getName())
-                        .append(", Raza: ").append(animal.getBreed())
-                        .append(" | Adoptante: Desconocido\n")
-                        .append("=================================\n");
-                }
+        // Recorrer solo los animales adoptados
+        int listed = 0;
+        for (Animal animal : statusIndex.getAdoptedAnimals()) {
+            if (isPageFull(report, listed++, limit)) {
+                break;
             }
+            Adoption adoption = findAdoptionByAnimal(animal);  // Encontrar la adopción del animal
+            if (adoption != null) {
+                AdoptionCandidate adopter = adoption.getAdopter();  // Obtener el adoptante
+                report.append("Animal: ").append(animal.getName())
+                    .append(", Raza: ").append(animal.getBreed())
+                    .append(" | Adoptante: ").append(adopter.getName())
+                    .append(", Contacto: ").append(adopter.getContactInfo())
+                    .append(", Fecha de Adopción: ").append(adoption.getAdoptionDate())  // Agregar fecha de adopción
+                    .append("\n")
+                    .append("=================================\n");
+            } else {
+                report.append("Animal: ").append(animal.getName())
+                    .append(", Raza: ").append(animal.getBreed())
+                    .append(" | Adoptante: Desconocido\n")
+                    .append("=================================\n");
+            }
+            flush(report, out);
         }
         // Si no hay adopciones, agregar un mensaje adecuado
         if (!hasAdoptions) {
             report.append("No se han registrado adopciones hasta el momento.\n");
         }
     
-        return report.toString();  // Retornar el reporte como String
+        flush(report, out);  // Escribir lo que queda del reporte
     }
 
     /**
@@ -300,6 +534,16 @@ public String generateMonthlyAdoptionStats(int year, int month) {
      * @return Un String que contiene el informe de los adoptantes.
      */
     public String generateAdoptersReport() {
+        return render(out -> writeAdoptersReport(out, NO_LIMIT));
+    }
+
+    /**
+     * Escribe el informe de adoptantes a medida que se genera.
+     * 
+     * @param out Destino del informe.
+     * @param limit Máximo de adoptantes a mostrar ({@code NO_LIMIT} para mostrar todos).
+     */
+    public void writeAdoptersReport(PrintWriter out, int limit) {
         StringBuilder report = new StringBuilder();  // Usar StringBuilder para construir el informe
     
         // Agregar la cantidad de adoptantes registrados
@@ -312,13 +556,18 @@ public String generateMonthlyAdoptionStats(int year, int month) {
             report.append("No se han registrado adoptantes.\n");
         } else {
             // Detallar cada adoptante usando su método toString()
+            int listed = 0;
             for (AdoptionCandidate candidate : adoptionCandidates) {
+                if (isPageFull(report, listed++, limit)) {
+                    break;
+                }
                 report.append(candidate.toString()).append("\n");  // Añadir el detalle del adoptante
                 report.append("=========================================\n");
+                flush(report, out);
             }
         }
     
-        return report.toString();  // Retornar el reporte como String
+        flush(report, out);  // Escribir lo que queda del reporte
     }
     
     /**
@@ -328,19 +577,32 @@ public String generateMonthlyAdoptionStats(int year, int month) {
      * el número de animales pendientes de adopción y detalle de todos los animales.
      */
     public String generateAnimalStats() {
-        int totalAnimals = animals.size();
-        int adoptedAnimals = 0;
-        int pendingAdoptions = 0;
-        
-        // Recorrer la lista de animales para contar adoptados y pendientes
-        for (Animal animal : animals) {
-            if (animal.isAdopted()) {
-                adoptedAnimals++;
-            } else {
-                pendingAdoptions++;
-            }
-        }
-    
+        return render(out -> writeAnimalStats(out, NO_LIMIT));
+    }
+
+    /**
+     * Escribe las estadísticas de los animales a medida que se generan.
+     * 
+     * @param out Destino del informe.
+     * @param limit Máximo de animales a detallar ({@code NO_LIMIT} para detallar todos).
+     */
+    public void writeAnimalStats(PrintWriter out, int limit) {
+        // Totales mantenidos con cada cambio
+        writeAnimalStats(out, animals, stats.getTotalAnimals(), stats.getAdoptedAnimals(), stats.getPendingAdoptions(), limit);
+    }
+
+    /**
+     * Escribe las estadísticas de una lista de animales con los totales ya calculados.
+     * También lo usa {@link ReportBatch}.
+     * 
+     * @param out Destino del informe.
+     * @param animals Los animales a detallar.
+     * @param totalAnimals La cantidad total de animales.
+     * @param adoptedAnimals La cantidad de animales adoptados.
+     * @param pendingAdoptions La cantidad de animales pendientes de adopción.
+     * @param limit Máximo de animales a detallar ({@code NO_LIMIT} para detallar todos).
+     */
+    static void writeAnimalStats(PrintWriter out, List<Animal> animals, int totalAnimals, int adoptedAnimals, int pendingAdoptions, int limit) {
         // Construir el reporte como un String
         StringBuilder stats = new StringBuilder();
         stats.append("\n")
@@ -353,10 +615,15 @@ public String generateMonthlyAdoptionStats(int year, int month) {
     
         // Agregar detalles de cada animal
         stats.append("Detalle de Animales:\n");
+        int listed = 0;
         for (Animal animal : animals) {
+            if (isPageFull(stats, listed++, limit)) {
+                break;
+            }
             stats.append(animal).append("\n");
+            flush(stats, out);
         }
-        return stats.toString();  // Retornar el reporte como String
+        flush(stats, out);  // Escribir lo que queda del reporte
     }
     
     /**
@@ -365,6 +632,16 @@ public String generateMonthlyAdoptionStats(int year, int month) {
      * @return Un String con la información de todos los voluntarios.
      */
     public String generateVolunteerReport() {
+        return render(out -> writeVolunteerReport(out, NO_LIMIT));
+    }
+
+    /**
+     * Escribe el informe de voluntarios a medida que se genera.
+     * 
+     * @param out Destino del informe.
+     * @param limit Máximo de voluntarios a mostrar ({@code NO_LIMIT} para mostrar todos).
+     */
+    public void writeVolunteerReport(PrintWriter out, int limit) {
         StringBuilder report = new StringBuilder();
         report.append("\n")
               .append("====== Informe de Voluntarios ======\n");
@@ -380,11 +657,16 @@ public String generateMonthlyAdoptionStats(int year, int month) {
             report.append("\n")
                   .append("------------ DETALLES ------------").append("\n");
             // Recorrer la lista de voluntarios e imprimir sus detalles usando toString()
+            int listed = 0;
             for (Volunteer volunteer : volunteers) {
+                if (isPageFull(report, listed++, limit)) {
+                    break;
+                }
                 report.append(volunteer.toString()).append("\n");
+                flush(report, out);
             }
         }
-        return report.toString();  // Retornar el informe como String
+        flush(report, out);  // Escribir lo que queda del informe
     }
 
     /**
@@ -393,6 +675,16 @@ public String generateMonthlyAdoptionStats(int year, int month) {
      * @return Un String con la información de la tarea.
      */
     public String generateTaskReport() {
+        return render(out -> writeTaskReport(out, NO_LIMIT));
+    }
+
+    /**
+     * Escribe el informe de tareas a medida que se genera.
+     * 
+     * @param out Destino del informe.
+     * @param limit Máximo de tareas a mostrar ({@code NO_LIMIT} para mostrar todas).
+     */
+    public void writeTaskReport(PrintWriter out, int limit) {
         StringBuilder report = new StringBuilder();
         report.append("\n")
               .append("====== Informe de Tareas ======\n");
@@ -401,12 +693,17 @@ public String generateMonthlyAdoptionStats(int year, int month) {
             report.append("No hay tareas registradas.\n");
         } else {
             // Recorrer la lista de tareas e imprimir sus detalles
+            int listed = 0;
             for (Task task : tasks) {
+                if (isPageFull(report, listed++, limit)) {
+                    break;
+                }
                 report.append(task).append("\n")
                       .append("=================================\n");
+                flush(report, out);
             }
         }
-        return report.toString();  // Retornar el informe como String
+        flush(report, out);  // Escribir lo que queda del informe
     }
     
     /**
@@ -418,16 +715,31 @@ public String generateMonthlyAdoptionStats(int year, int month) {
      * @return Un String que contiene el informe de todos los recursos.
      */
     public String generateResourceReport() {
+        return render(out -> writeResourceReport(out, NO_LIMIT));
+    }
+
+    /**
+     * Escribe el informe de recursos a medida que se genera.
+     * 
+     * @param out Destino del informe.
+     * @param limit Máximo de recursos a mostrar ({@code NO_LIMIT} para mostrar todos).
+     */
+    public void writeResourceReport(PrintWriter out, int limit) {
         StringBuilder report = new StringBuilder(); // Usamos StringBuilder para construir el reporte de forma eficiente
         report.append("\n")
               .append("====== Informe de Recursos ======\n");
 
         // Recorre la lista de recursos
+        int listed = 0;
         for (Resource resource : resources) {
+            if (isPageFull(report, listed++, limit)) {
+                break;
+            }
             report.append("Recurso: ").append(resource.getResourceName()).append("\n");
             report.append("Cantidad: ").append(resource.getQuantity()).append("\n");
             report.append("Descripción: ").append(resource.getDescription()).append("\n");
             report.append("==============================\n");
+            flush(report, out);
         }
 
         // Si no hay recursos en la lista
@@ -435,7 +747,7 @@ public String generateMonthlyAdoptionStats(int year, int month) {
             report.append("No hay recursos disponibles.\n");
         }
 
-        return report.toString(); // Retorna el informe como un String
+        flush(report, out); // Escribe lo que queda del informe
     }
 
     /**
@@ -444,18 +756,34 @@ public String generateMonthlyAdoptionStats(int year, int month) {
      * @return Un {@code String} que contiene el informe de las tareas NO completadas en el albergue.
      */
     public String generateNoCompleteTaskReport() {
+        return render(out -> writeNoCompleteTaskReport(out, NO_LIMIT));
+    }
+
+    /**
+     * Escribe el informe de tareas no completadas a medida que se genera.
+     * 
+     * @param out Destino del informe.
+     * @param limit Máximo de tareas a mostrar ({@code NO_LIMIT} para mostrar todas).
+     */
+    public void writeNoCompleteTaskReport(PrintWriter out, int limit) {
         StringBuilder stats = new StringBuilder();
         stats.append("\n")
              .append("====== TAREAS NO COMPLETADAS ======\n");
     
-        boolean hasIncompleteTasks = false; // Bandera para verificar si hay tareas sin completar
+        boolean hasIncompleteTasks = this.stats.getPendingTasks() > 0; // Verificar si hay tareas sin completar
     
-        // Agregar detalles de cada tarea no completada
-        for (Task task : tasks) {
-            if (!task.isCompleted()) {
-                hasIncompleteTasks = true; // Se encontró al menos una tarea sin completar
-                stats.append(task).append("\n");
-                stats.append("......................................").append("\n");
+        // Agregar detalles de cada tarea no completada (sin recorrer la lista si no hay)
+        if (hasIncompleteTasks) {
+            int listed = 0;
+            for (Task task : tasks) {
+                if (!task.isCompleted()) {
+                    if (isPageFull(stats, listed++, limit)) {
+                        break;
+                    }
+                    stats.append(task).append("\n");
+                    stats.append("......................................").append("\n");
+                    flush(stats, out);
+                }
             }
         }
     
@@ -464,7 +792,7 @@ public String generateMonthlyAdoptionStats(int year, int month) {
             stats.append("No se encuentran tareas sin Completar.\n");
         }
     
-        return stats.toString(); // Retornar el reporte como String
+        flush(stats, out); // Escribir lo que queda del reporte
     }
     
 
@@ -474,19 +802,35 @@ public String generateMonthlyAdoptionStats(int year, int month) {
      * @return Un {@code String} que contiene el informe de animales peligrosos o no.
      */
     public String generateDangerLevelReport() {
-        int totalAnimals = animals.size();
-        int dangerAnimals = 0;
-        int noDangerAnimals = 0;
-        
-        // Recorrer la lista de animales para contar peligrosos y no peligrosos.
-        for (Animal animal : animals) {
-            if (animal.getDangerLevel()) {
-                dangerAnimals++;
-            } else {
-                noDangerAnimals++;
-            }
-        }
-    
+        return render(out -> writeDangerLevelReport(out, NO_LIMIT));
+    }
+
+    /**
+     * Escribe el informe de animales según su peligrosidad a medida que se genera.
+     * 
+     * @param out Destino del informe.
+     * @param limit Máximo de animales a mostrar en cada grupo ({@code NO_LIMIT} para mostrar todos).
+     */
+    public void writeDangerLevelReport(PrintWriter out, int limit) {
+        // Totales mantenidos con cada cambio
+        writeDangerLevelReport(out, stats.getTotalAnimals(), stats.getDangerousAnimals(), stats.getNotDangerousAnimals(),
+            statusIndex.getDangerousAnimals(), statusIndex.getNotDangerousAnimals(), limit);
+    }
+
+    /**
+     * Escribe el informe de peligrosidad con los animales ya separados en grupos.
+     * También lo usa {@link ReportBatch}.
+     * 
+     * @param out Destino del informe.
+     * @param totalAnimals La cantidad total de animales.
+     * @param dangerAnimals La cantidad de animales peligrosos.
+     * @param noDangerAnimals La cantidad de animales no peligrosos.
+     * @param dangerous Los animales peligrosos.
+     * @param notDangerous Los animales no peligrosos.
+     * @param limit Máximo de animales a mostrar en cada grupo ({@code NO_LIMIT} para mostrar todos).
+     */
+    static void writeDangerLevelReport(PrintWriter out, int totalAnimals, int dangerAnimals, int noDangerAnimals,
+                                       List<Animal> dangerous, List<Animal> notDangerous, int limit) {
         // Construir el reporte como un String
         StringBuilder stats = new StringBuilder();
         stats.append("\n")
@@ -502,10 +846,13 @@ public String generateMonthlyAdoptionStats(int year, int month) {
         if (dangerAnimals == 0) {
             stats.append("\nNo hay animales peligrosos.\n");
         } else {
-            for (Animal animal : animals) {
-                if (animal.getDangerLevel()) {
-                    stats.append(animal).append("\n");
+            int listed = 0;
+            for (Animal animal : dangerous) {
+                if (isPageFull(stats, listed++, limit)) {
+                    break;
                 }
+                stats.append(animal).append("\n");
+                flush(stats, out);
             }
         }
 
@@ -513,13 +860,16 @@ public String generateMonthlyAdoptionStats(int year, int month) {
         if (noDangerAnimals == 0) {
             stats.append("\nNo hay animales no peligrosos.\n");
         } else {
-            for (Animal animal : animals) {
-                if (!animal.getDangerLevel()) {
-                    stats.append(animal).append("\n");
+            int listed = 0;
+            for (Animal animal : notDangerous) {
+                if (isPageFull(stats, listed++, limit)) {
+                    break;
                 }
+                stats.append(animal).append("\n");
+                flush(stats, out);
             }
         }
-        return stats.toString();  // Retornar el reporte como String
+        flush(stats, out);  // Escribir lo que queda del reporte
     }
 
     /**
@@ -528,9 +878,39 @@ public String generateMonthlyAdoptionStats(int year, int month) {
      * @return Un {@code String} que contiene el informe de los 10 voluntarios con mayor cantidad de horas.
      */
     public String generateTop10VolunteerReport() {
+        return generateTopVolunteerReport(TOP_VOLUNTEERS);
+    }
+
+    /**
+     * Escribe el informe de los 10 voluntarios con mayor cantidad de horas.
+     * 
+     * @param out Destino del informe.
+     */
+    public void writeTop10VolunteerReport(PrintWriter out) {
+        writeTopVolunteerReport(out, TOP_VOLUNTEERS);
+    }
+
+    /**
+     * Genera un informe sobre los voluntarios con mayor cantidad de horas, sin modificar
+     * la lista de voluntarios. Los voluntarios con las mismas horas conservan el orden de la lista.
+     * 
+     * @param count La cantidad de voluntarios del informe.
+     * @return Un {@code String} que contiene el informe de los voluntarios con mayor cantidad de horas.
+     */
+    public String generateTopVolunteerReport(int count) {
+        return render(out -> writeTopVolunteerReport(out, count));
+    }
+
+    /**
+     * Escribe el informe de los voluntarios con mayor cantidad de horas a medida que se genera.
+     * 
+     * @param out Destino del informe.
+     * @param count La cantidad de voluntarios del informe.
+     */
+    public void writeTopVolunteerReport(PrintWriter out, int count) {
         StringBuilder report = new StringBuilder();
         report.append("\n")
-              .append("====== Informe de Top 10 Voluntarios ======\n");
+              .append("====== Informe de Top " + count + " Voluntarios ======\n");
     
         int volunteerCount = volunteers.size();
     
@@ -541,17 +921,30 @@ public String generateMonthlyAdoptionStats(int year, int month) {
         } else {
             report.append("\n");
             
-            // Ordenar los voluntarios en base a las horas trabajadas de mayor a menor
-            volunteers.sort(Comparator.comparingInt(Volunteer::getHoursWorked).reversed());
-    
-            // Limitar el número de voluntarios a 10 o menos si no hay suficientes
-            int topVolunteersCount = Math.min(10, volunteerCount);
-            for (int i = 0; i < topVolunteersCount; i++) {
+            // Elegir los de más horas con un montículo de tamaño count, cuyo tope es el peor elegido
+            Comparator<Integer> byHours = Comparator
+                .comparingInt((Integer i) -> volunteers.get(i).getHoursWorked())
+                .thenComparing(Comparator.reverseOrder());  // En empate, el que aparece después en la lista es peor
+            PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(1, count), byHours);
+            for (int i = 0; i < volunteerCount && count > 0; i++) {
+                top.add(i);
+                if (top.size() > count) {
+                    top.poll();
+                }
+            }
+
+            // Sacar del montículo de peor a mejor y mostrar de mayor a menor
+            List<Volunteer> topVolunteers = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                topVolunteers.add(0, volunteers.get(top.poll()));
+            }
+            for (int i = 0; i < topVolunteers.size(); i++) {
                 report.append((i + 1) + ".\n");
-                report.append(volunteers.get(i).toString()).append("\n");
+                report.append(topVolunteers.get(i).toString()).append("\n");
+                flush(report, out);
             }
         }
-        return report.toString();
+        flush(report, out);
     }
 
     /** 
@@ -560,17 +953,35 @@ public String generateMonthlyAdoptionStats(int year, int month) {
      * @return Un {@code String} que contiene el informe de los recursos de bajo del threshold
      */
     public String generateLowResourceReport() {
+        return render(out -> writeLowResourceReport(out, NO_LIMIT));
+    }
+
+    /**
+     * Escribe el informe de recursos bajos en cantidad a medida que se genera.
+     * 
+     * @param out Destino del informe.
+     * @param limit Máximo de recursos a mostrar ({@code NO_LIMIT} para mostrar todos).
+     */
+    public void writeLowResourceReport(PrintWriter out, int limit) {
+        writeLowResourceReport(out, resources, stats.getLowStockResources(), limit);
+    }
+
+    /**
+     * Escribe el informe de recursos bajos en cantidad de una lista de recursos.
+     * También lo usa {@link ReportBatch}.
+     * 
+     * @param out Destino del informe.
+     * @param resources Los recursos; solo se muestran los bajos en cantidad.
+     * @param lowStockResources La cantidad de recursos bajos en cantidad.
+     * @param limit Máximo de recursos a mostrar ({@code NO_LIMIT} para mostrar todos).
+     */
+    static void writeLowResourceReport(PrintWriter out, List<Resource> resources, int lowStockResources, int limit) {
         StringBuilder report = new StringBuilder();
         report.append("\n")
               .append("====== Informe de Recursos Bajos en Cantidad ======\n");
     
-        // Filtrar los recursos con cantidad menor a 10
-        List<Resource> lowStockResources = resources.stream()
-                                                    .filter(resource -> resource.getQuantity() < 10)
-                                                    .toList();
-    
         // Verificar si hay recursos con menos de 10 unidades
-        if (lowStockResources.isEmpty()) {  
+        if (lowStockResources == 0) {  
             report.append("=====================================\n");
             report.append("== No hay recursos con menos de 10 ==\n"); 
             report.append("==        unidades en stock.       ==\n");
@@ -578,15 +989,90 @@ public String generateMonthlyAdoptionStats(int year, int month) {
         } else {
             report.append("Recursos con menos de 10 unidades en stock:\n");
             report.append("\n");
-            for (Resource resource : lowStockResources) {
+            // Filtrar los recursos con cantidad menor a 10 mientras se escriben
+            int listed = 0;
+            for (Resource resource : resources) {
+                if (!ShelterStats.isLowStock(resource)) {
+                    continue;
+                }
+                if (isPageFull(report, listed++, limit)) {
+                    break;
+                }
                 report.append("Recurso: ").append(resource.getResourceName()).append("\n");
                 report.append("Cantidad: ").append(resource.getQuantity()).append("\n");
                 report.append("Descripción: ").append(resource.getDescription()).append("\n");
                 report.append("==============================\n");
+                flush(report, out);
             }
         }
     
-        return report.toString();
+        flush(report, out);
+    }
+
+    /**
+     * Genera un pronóstico de los días que faltan para que cada recurso llegue a su umbral.
+     *
+     * @return Un {@code String} que contiene el pronóstico de los recursos.
+     */
+    public String generateStockForecastReport() {
+        return render(out -> writeStockForecastReport(out, NO_LIMIT));
+    }
+
+    /**
+     * Escribe el pronóstico de recursos a medida que se genera. El consumo diario de cada
+     * recurso se estima con su historial de cantidades, y los recursos se muestran del
+     * que llega antes a su umbral al que llega después; los que no tienen consumo
+     * registrado van al final.
+     *
+     * @param out Destino del informe.
+     * @param limit Máximo de recursos a mostrar ({@code NO_LIMIT} para mostrar todos).
+     */
+    public void writeStockForecastReport(PrintWriter out, int limit) {
+        StringBuilder report = new StringBuilder();
+        report.append("\n")
+              .append("====== Pronóstico de Recursos ======\n");
+
+        if (resources.isEmpty()) {
+            report.append("No hay recursos disponibles.\n");
+        } else {
+            report.append("Consumo promedio de los últimos ").append(ResourceLedger.BURN_RATE_WINDOW_DAYS).append(" días\n");
+            report.append("\n");
+
+            // Estimar una vez por recurso y ordenar por días restantes
+            LocalDate today = LocalDate.now();
+            int[] daysLeft = new int[resources.size()];
+            List<Integer> order = new ArrayList<>(resources.size());
+            for (int i = 0; i < resources.size(); i++) {
+                daysLeft[i] = resourceLedger.daysUntilThreshold(resources.get(i), today);
+                order.add(i);
+            }
+            order.sort(Comparator.comparingInt(i -> daysLeft[i] == ResourceLedger.UNKNOWN_DAYS ? Integer.MAX_VALUE : daysLeft[i]));
+
+            int listed = 0;
+            for (int i : order) {
+                if (isPageFull(report, listed++, limit)) {
+                    break;
+                }
+                Resource resource = resources.get(i);
+                report.append("Recurso: ").append(resource.getResourceName()).append("\n");
+                report.append("Cantidad: ").append(resource.getQuantity())
+                      .append(" (umbral ").append(resource.getThreshold()).append(")\n");
+                report.append("Consumo diario: ")
+                      .append(String.format("%.2f", resourceLedger.burnRate(resource, today, ResourceLedger.BURN_RATE_WINDOW_DAYS)))
+                      .append("\n");
+                if (daysLeft[i] == 0) {
+                    report.append("Días hasta el umbral: ya está en el umbral o debajo\n");
+                } else if (daysLeft[i] == ResourceLedger.UNKNOWN_DAYS) {
+                    report.append("Días hasta el umbral: sin consumo registrado\n");
+                } else {
+                    report.append("Días hasta el umbral: ").append(daysLeft[i]).append("\n");
+                }
+                report.append("==============================\n");
+                flush(report, out);
+            }
+        }
+
+        flush(report, out);
     }
 
  
@@ -596,6 +1082,36 @@ public String generateMonthlyAdoptionStats(int year, int month) {
      * @return Un String que contiene el informe de los adoptantes con más animales adoptados
      */
     public String generateTopAdoptersReport() {
+        return render(out -> writeTopAdoptersReport(out, NO_LIMIT));
+    }
+
+    /**
+     * Escribe el informe de adoptantes con más animales adoptados a medida que se genera.
+     * 
+     * @param out Destino del informe.
+     * @param limit Máximo de adoptantes a mostrar ({@code NO_LIMIT} para mostrar todos).
+     */
+    public void writeTopAdoptersReport(PrintWriter out, int limit) {
+        writeCached(out, "adoptantes", TOP_ADOPTERS_DATA, limit, cached -> writeTopAdoptersReportUncached(cached, limit));
+    }
+
+    /**
+     * Método auxiliar que escribe el informe de adoptantes con más animales adoptados sin usar la caché.
+     * Ordena una copia de la lista de adoptantes, que es compartida con el resto del sistema.
+     */
+    private void writeTopAdoptersReportUncached(PrintWriter out, int limit) {
+        writeTopAdoptersReport(out, adoptionCandidates, limit);
+    }
+
+    /**
+     * Escribe el informe de adoptantes con más animales adoptados de una lista de adoptantes.
+     * Ordena una copia de la lista. También lo usa {@link ReportBatch}.
+     * 
+     * @param out Destino del informe.
+     * @param adoptionCandidates Los adoptantes.
+     * @param limit Máximo de adoptantes a mostrar ({@code NO_LIMIT} para mostrar todos).
+     */
+    static void writeTopAdoptersReport(PrintWriter out, List<AdoptionCandidate> adoptionCandidates, int limit) {
         StringBuilder report = new StringBuilder();
     
         // Agregar la cantidad de adoptantes registrados
@@ -606,8 +1122,9 @@ public String generateMonthlyAdoptionStats(int year, int month) {
         if (adoptionCandidates.isEmpty()) {
             report.append("No se han registrado adoptantes.\n");
         } else {
-            // Ordenar la lista de adoptantes por la cantidad de animales adoptados (de mayor a menor)
-            Collections.sort(adoptionCandidates, new Comparator<AdoptionCandidate>() {
+            // Ordenar una copia de los adoptantes por la cantidad de animales adoptados (de mayor a menor)
+            List<AdoptionCandidate> sortedAdopters = new ArrayList<>(adoptionCandidates);
+            Collections.sort(sortedAdopters, new Comparator<AdoptionCandidate>() {
                 @Override
                 public int compare(AdoptionCandidate a1, AdoptionCandidate a2) {
                     return Integer.compare(a2.getAnimals().size(), a1.getAnimals().size());
@@ -615,13 +1132,18 @@ public String generateMonthlyAdoptionStats(int year, int month) {
             });
     
             // Detallar cada adoptante usando su método toString()
-            for (AdoptionCandidate candidate : adoptionCandidates) {
+            int listed = 0;
+            for (AdoptionCandidate candidate : sortedAdopters) {
+                if (isPageFull(report, listed++, limit)) {
+                    break;
+                }
                 report.append(candidate.getCantidadAdoptados()).append("\n");
                 report.append("=========================================\n");
+                flush(report, out);
             }
         }
     
-        return report.toString();
+        flush(report, out);
     }
 
     
@@ -648,12 +1170,7 @@ public String generateMonthlyAdoptionStats(int year, int month) {
      * @return La adopción asociada al animal dado si se encuentra, o {@code null} si no existe adopción para el animal.
      */
     public Adoption findAdoptionByAnimal(Animal animal) {
-        for (Adoption adoption : adoptions) {  // Asumiendo que tienes una lista de adopciones
-            if (adoption.getAnimal().equals(animal)) {
-                return adoption;
-            }
-        }
-        return null;  // Si no se encuentra adopción para el animal
+        return adoptionIndex.findByAnimal(animal);  // Búsqueda por ID del animal
     }
 
     /**
@@ -663,6 +1180,17 @@ public String generateMonthlyAdoptionStats(int year, int month) {
  * @return String con el reporte de tareas en el período especificado
  */
 public String generateTaskReportByPeriod(LocalDate startDate, LocalDate endDate) {
+    return render(out -> writeTaskReportByPeriod(out, startDate, endDate, NO_LIMIT));
+}
+
+/**
+ * Escribe el reporte de tareas de un período a medida que se genera.
+ * @param out Destino del reporte
+ * @param startDate Fecha inicial
+ * @param endDate Fecha final
+ * @param limit Máximo de tareas a mostrar (NO_LIMIT para mostrar todas)
+ */
+public void writeTaskReportByPeriod(PrintWriter out, LocalDate startDate, LocalDate endDate, int limit) {
     StringBuilder report = new StringBuilder();
     report.append("\n====== Reporte de Tareas por Período ======\n");
     report.append("Período: ").append(startDate).append(" - ").append(endDate).append("\n\n");
@@ -674,20 +1202,22 @@ public String generateTaskReportByPeriod(LocalDate startDate, LocalDate endDate)
         report.append("No se encontraron tareas en el período especificado.\n");
     } else {
         report.append("Total de tareas: ").append(periodTasks.size()).append("\n");
-        report.append("Completadas: ").append(
-            periodTasks.stream().filter(Task::isCompleted).count()
-        ).append("\n");
-        report.append("Pendientes: ").append(
-            periodTasks.stream().filter(task -> !task.isCompleted()).count()
-        ).append("\n\n");
+        long completedCount = countMatching(periodTasks, Task::isCompleted);  // Un solo recorrido para ambos totales
+        report.append("Completadas: ").append(completedCount).append("\n");
+        report.append("Pendientes: ").append(periodTasks.size() - completedCount).append("\n\n");
 
         report.append("=== Detalle de Tareas ===\n");
+        int listed = 0;
         for (Task task : periodTasks) {
+            if (isPageFull(report, listed++, limit)) {
+                break;
+            }
             report.append(task.toString()).append("\n");
+            flush(report, out);
         }
     }
 
-    return report.toString();
+    flush(report, out);
 }
 
 /**
@@ -695,40 +1225,132 @@ public String generateTaskReportByPeriod(LocalDate startDate, LocalDate endDate)
  * @return String con el reporte de tareas por estado
  */
 public String generateTaskReportByStatus() {
-    StringBuilder report = new StringBuilder();
-    report.append("\n====== Reporte de Tareas por Estado ======\n");
+    return render(out -> writeTaskReportByStatus(out, NO_LIMIT));
+}
 
-    // Separar tareas por estado
-    List<Task> completedTasks = tasks.stream()
-        .filter(Task::isCompleted)
-        .collect(Collectors.toList());
+/**
+ * Escribe el reporte de tareas por estado a medida que se genera. Cada grupo se
+ * escribe recorriendo la lista de tareas, sin copiarlas a listas auxiliares.
+ * @param out Destino del reporte
+ * @param limit Máximo de tareas a mostrar en cada grupo (NO_LIMIT para mostrar todas)
+ */
+public void writeTaskReportByStatus(PrintWriter out, int limit) {
+    writeTaskReportByStatus(out, tasks, stats.getCompletedTasks(), stats.getPendingTasks(), limit);
+}
 
-    List<Task> pendingTasks = tasks.stream()
-        .filter(task -> !task.isCompleted())
-        .collect(Collectors.toList());
+/**
+ * Escribe el reporte de tareas por estado de una lista de tareas con los totales ya
+ * calculados. También lo usa {@link ReportBatch}.
+ * @param out Destino del reporte
+ * @param tasks Las tareas
+ * @param completedTasks Cantidad de tareas completadas
+ * @param pendingTasks Cantidad de tareas pendientes
+ * @param limit Máximo de tareas a mostrar en cada grupo (NO_LIMIT para mostrar todas)
+ */
+static void writeTaskReportByStatus(PrintWriter out, List<Task> tasks, int completedTasks, int pendingTasks, int limit) {
+    StringBuilder report = new StringBuilder();
+    report.append("\n====== Reporte de Tareas por Estado ======\n");
 
     // Reporte de tareas completadas
     report.append("\n=== Tareas Completadas ===\n");
-    report.append("Total: ").append(completedTasks.size()).append("\n");
-    if (!completedTasks.isEmpty()) {
-        for (Task task : completedTasks) {
-            report.append("- ").append(task.toString()).append("\n");
-        }
+    report.append("Total: ").append(completedTasks).append("\n");
+    if (completedTasks > 0) {
+        writeTasksWithStatus(report, out, tasks, true, limit);
     } else {
         report.append("No hay tareas completadas.\n");
     }
 
     // Reporte de tareas pendientes
     report.append("\n=== Tareas Pendientes ===\n");
-    report.append("Total: ").append(pendingTasks.size()).append("\n");
-    if (!pendingTasks.isEmpty()) {
-        for (Task task : pendingTasks) {
+    report.append("Total: ").append(pendingTasks).append("\n");
+    if (pendingTasks > 0) {
+        writeTasksWithStatus(report, out, tasks, false, limit);
+    } else {
+        report.append("No hay tareas pendientes.\n");
+    }
+
+    flush(report, out);
+}
+
+/**
+ * Método auxiliar que escribe las tareas completadas o pendientes, en el orden de la lista.
+ */
+private static void writeTasksWithStatus(StringBuilder report, PrintWriter out, List<Task> tasks, boolean completed, int limit) {
+    int listed = 0;
+    for (Task task : tasks) {
+        if (task.isCompleted() == completed) {
+            if (isPageFull(report, listed++, limit)) {
+                break;
+            }
             report.append("- ").append(task.toString()).append("\n");
+            flush(report, out);
         }
+    }
+}
+
+/**
+ * Método auxiliar que cuenta los elementos de una lista que cumplen una condición,
+ * en paralelo si el modo paralelo está activo y la lista es grande.
+ */
+private <T> long countMatching(List<T> items, Predicate<T> condition) {
+    return ParallelAggregation.aggregate(items, parallel,
+        () -> new long[1],
+        (count, item) -> {
+            if (condition.test(item)) {
+                count[0]++;
+            }
+        },
+        (left, right) -> {
+            left[0] += right[0];
+            return left;
+        })[0];
+}
+
+/**
+ * Método auxiliar que escribe un informe desde la caché, generándolo en memoria si no
+ * está guardado o si cambió alguna de sus dependencias. Un informe en caché se arma
+ * completo antes de imprimirse, así que los informes paginados (con límite) y los que
+ * se piden sin caché se escriben directamente a medida que se generan.
+ */
+private void writeCached(PrintWriter out, String key, DataFile[] dependencies, int limit, Consumer<PrintWriter> writer) {
+    if (cache == null || limit != NO_LIMIT) {
+        writer.accept(out);
     } else {
-        report.append("No hay tareas pendientes.\n");
+        out.append(cache.get(key, dependencies, () -> render(writer)));
     }
+}
 
-    return report.toString();
+/**
+ * Método auxiliar que genera un informe completo como String, escribiéndolo en memoria.
+ */
+private static String render(Consumer<PrintWriter> writer) {
+    StringWriter text = new StringWriter();
+    PrintWriter out = new PrintWriter(text);
+    writer.accept(out);
+    out.flush();
+    return text.toString();
+}
+
+/**
+ * Método auxiliar que escribe lo acumulado del informe y vacía el StringBuilder, de modo
+ * que en memoria solo se guarda el elemento que se está escribiendo.
+ */
+private static void flush(StringBuilder report, PrintWriter out) {
+    out.append(report);
+    report.setLength(0);
+}
+
+/**
+ * Método auxiliar que indica si ya se mostraron todos los elementos permitidos. La
+ * primera vez que se alcanza el límite agrega un aviso al informe.
+ */
+private static boolean isPageFull(StringBuilder report, int listed, int limit) {
+    if (listed < limit) {
+        return false;
+    }
+    if (listed == limit) {
+        report.append("... (se muestran solo los primeros ").append(limit).append(")\n");
+    }
+    return true;
 }
 }
@@ -0,0 +1,309 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase ReportBatch
+ *
+ * La clase ReportBatch genera varios informes a la vez, recorriendo cada lista
+ * (animales, adopciones, tareas y recursos) una sola vez. Cada informe es un
+ * agregador que recibe los elementos durante ese recorrido y al final escribe su
+ * archivo en el directorio de salida. Los agregadores incluidos cubren las
+ * estadísticas de animales, la peligrosidad, los adoptantes con más adopciones,
+ * las adopciones por mes, los recursos bajos en stock y las tareas por estado.
+ * El formato de cada informe lo escriben los mismos métodos de Report que usan
+ * los informes del menú, con los datos reunidos en el recorrido.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class ReportBatch {
+    private final List<Aggregator> aggregators = new ArrayList<>();  // Informes registrados
+
+    /**
+     * Informe que se arma durante el recorrido único de las listas. Cada método recibe
+     * un elemento; los agregadores implementan solo los que necesitan.
+     */
+    public interface Aggregator {
+        /**
+         * @return El nombre del archivo del informe dentro del directorio de salida.
+         */
+        String getFileName();
+
+        default void animal(Animal animal) {
+        }
+
+        default void adopter(AdoptionCandidate adopter) {
+        }
+
+        default void adoption(Adoption adoption) {
+        }
+
+        default void task(Task task) {
+        }
+
+        default void resource(Resource resource) {
+        }
+
+        /**
+         * Escribe el informe con lo acumulado durante el recorrido.
+         *
+         * @param out Destino del informe.
+         */
+        void write(PrintWriter out);
+    }
+
+    /**
+     * Crea un lote con todos los informes incluidos.
+     *
+     * @return El lote con los informes incluidos registrados.
+     */
+    public static ReportBatch withDefaultReports() {
+        return new ReportBatch()
+            .register(new AnimalStats())
+            .register(new DangerLevels())
+            .register(new TopAdopters())
+            .register(new MonthlyAdoptions())
+            .register(new LowStock())
+            .register(new TaskStatus());
+    }
+
+    /**
+     * Registra un informe en el lote.
+     *
+     * @param aggregator El informe a registrar.
+     * @return Este lote, para encadenar registros.
+     */
+    public ReportBatch register(Aggregator aggregator) {
+        aggregators.add(aggregator);
+        return this;
+    }
+
+    /**
+     * Recorre cada lista una sola vez, entregando cada elemento a todos los informes,
+     * y luego escribe cada informe en su archivo del directorio de salida. Los
+     * agregadores acumulan datos, por lo que cada lote se ejecuta una sola vez.
+     *
+     * @param animals La lista de animales.
+     * @param adoptionCandidates La lista de adoptantes.
+     * @param adoptions La lista de adopciones.
+     * @param tasks La lista de tareas.
+     * @param resources La lista de recursos.
+     * @param directory El directorio de salida; se crea si no existe.
+     * @return Las rutas de los archivos escritos, en el orden de registro.
+     * @throws IOException Si no se puede crear el directorio o escribir un informe.
+     */
+    public List<Path> run(List<Animal> animals, List<AdoptionCandidate> adoptionCandidates, List<Adoption> adoptions,
+                          List<Task> tasks, List<Resource> resources, String directory) throws IOException {
+        for (Animal animal : animals) {
+            for (Aggregator aggregator : aggregators) {
+                aggregator.animal(animal);
+            }
+        }
+        for (AdoptionCandidate adopter : adoptionCandidates) {
+            for (Aggregator aggregator : aggregators) {
+                aggregator.adopter(adopter);
+            }
+        }
+        for (Adoption adoption : adoptions) {
+            for (Aggregator aggregator : aggregators) {
+                aggregator.adoption(adoption);
+            }
+        }
+        for (Task task : tasks) {
+            for (Aggregator aggregator : aggregators) {
+                aggregator.task(task);
+            }
+        }
+        for (Resource resource : resources) {
+            for (Aggregator aggregator : aggregators) {
+                aggregator.resource(resource);
+            }
+        }
+
+        Path outputDirectory = Files.createDirectories(Paths.get(directory));
+        List<Path> written = new ArrayList<>(aggregators.size());
+        for (Aggregator aggregator : aggregators) {
+            Path file = outputDirectory.resolve(aggregator.getFileName());
+            AtomicFileWriter.write(file.toString(), output -> {
+                PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
+                aggregator.write(out);
+                out.flush();
+                if (out.checkError()) {  // PrintWriter no lanza excepciones al escribir
+                    throw new IOException("No se pudo escribir " + file);
+                }
+            });
+            written.add(file);
+        }
+        return written;
+    }
+
+    /**
+     * Totales de animales y detalle de cada uno.
+     */
+    private static class AnimalStats implements Aggregator {
+        private final List<Animal> animals = new ArrayList<>();
+        private int adopted;
+
+        @Override
+        public String getFileName() {
+            return "animales.txt";
+        }
+
+        @Override
+        public void animal(Animal animal) {
+            animals.add(animal);
+            if (animal.isAdopted()) {
+                adopted++;
+            }
+        }
+
+        @Override
+        public void write(PrintWriter out) {
+            Report.writeAnimalStats(out, animals, animals.size(), adopted, animals.size() - adopted, Report.NO_LIMIT);
+        }
+    }
+
+    /**
+     * Animales separados en peligrosos y no peligrosos.
+     */
+    private static class DangerLevels implements Aggregator {
+        private final List<Animal> dangerous = new ArrayList<>();
+        private final List<Animal> notDangerous = new ArrayList<>();
+
+        @Override
+        public String getFileName() {
+            return "peligrosidad.txt";
+        }
+
+        @Override
+        public void animal(Animal animal) {
+            (animal.getDangerLevel() ? dangerous : notDangerous).add(animal);
+        }
+
+        @Override
+        public void write(PrintWriter out) {
+            Report.writeDangerLevelReport(out, dangerous.size() + notDangerous.size(), dangerous.size(), notDangerous.size(),
+                dangerous, notDangerous, Report.NO_LIMIT);
+        }
+    }
+
+    /**
+     * Adoptantes ordenados por cantidad de animales adoptados.
+     */
+    private static class TopAdopters implements Aggregator {
+        private final List<AdoptionCandidate> adopters = new ArrayList<>();
+
+        @Override
+        public String getFileName() {
+            return "adoptantes.txt";
+        }
+
+        @Override
+        public void adopter(AdoptionCandidate adopter) {
+            adopters.add(adopter);
+        }
+
+        @Override
+        public void write(PrintWriter out) {
+            Report.writeTopAdoptersReport(out, adopters, Report.NO_LIMIT);
+        }
+    }
+
+    /**
+     * Cantidad de adopciones, y cuántas de animales peligrosos, por cada mes con adopciones.
+     */
+    private static class MonthlyAdoptions implements Aggregator {
+        private final Map<YearMonth, int[]> byMonth = new TreeMap<>();  // Mes -> { adopciones, peligrosos }
+
+        @Override
+        public String getFileName() {
+            return "adopciones_mensuales.txt";
+        }
+
+        @Override
+        public void adoption(Adoption adoption) {
+            int[] counts = byMonth.computeIfAbsent(YearMonth.from(adoption.getAdoptionDate()), month -> new int[2]);
+            counts[0]++;
+            if (adoption.getAnimal().getDangerLevel()) {
+                counts[1]++;
+            }
+        }
+
+        @Override
+        public void write(PrintWriter out) {
+            if (byMonth.isEmpty()) {
+                out.append("No se han registrado adopciones.\n");
+            }
+            for (Map.Entry<YearMonth, int[]> entry : byMonth.entrySet()) {
+                Report.writeMonthlyAdoptionStats(out, entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+            }
+        }
+    }
+
+    /**
+     * Recursos con menos de ShelterStats.LOW_STOCK_LIMIT unidades.
+     */
+    private static class LowStock implements Aggregator {
+        private final List<Resource> lowStock = new ArrayList<>();
+
+        @Override
+        public String getFileName() {
+            return "recursos_bajos.txt";
+        }
+
+        @Override
+        public void resource(Resource resource) {
+            if (ShelterStats.isLowStock(resource)) {
+                lowStock.add(resource);
+            }
+        }
+
+        @Override
+        public void write(PrintWriter out) {
+            Report.writeLowResourceReport(out, lowStock, lowStock.size(), Report.NO_LIMIT);
+        }
+    }
+
+    /**
+     * Tareas separadas en completadas y pendientes.
+     */
+    private static class TaskStatus implements Aggregator {
+        private final List<Task> tasks = new ArrayList<>();
+        private int completed;
+
+        @Override
+        public String getFileName() {
+            return "tareas.txt";
+        }
+
+        @Override
+        public void task(Task task) {
+            tasks.add(task);
+            if (task.isCompleted()) {
+                completed++;
+            }
+        }
+
+        @Override
+        public void write(PrintWriter out) {
+            Report.writeTaskReportByStatus(out, tasks, completed, tasks.size() - completed, Report.NO_LIMIT);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase ReportCache
+ *
+ * La clase ReportCache guarda el texto de los informes ya generados, identificados
+ * por el tipo de informe y sus parámetros (fechas, año y mes). Cada lista de
+ * entidades tiene un número de versión que Main incrementa con cada cambio; un
+ * informe guardado recuerda la versión de las listas de las que depende y deja de
+ * ser válido solo cuando alguna de ellas cambia. Cuando se llena, descarta el
+ * informe usado hace más tiempo, y lleva la cuenta de aciertos y fallos. Como
+ * guarda el texto completo, un informe en caché se genera entero en memoria antes
+ * de imprimirse.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class ReportCache {
+    private final int capacity;                                          // Máximo de informes guardados (0 = sin caché)
+    private final long[] versions = new long[DataFile.values().length];  // Versión de cada lista de entidades
+    private final Map<String, Entry> entries;                            // Informes guardados, del usado hace más tiempo al más reciente
+    private long hits;           // Informes devueltos desde la caché
+    private long misses;         // Informes que se tuvieron que generar
+    private long invalidations;  // Informes descartados porque cambió una lista de la que dependen
+    private long evictions;      // Informes descartados por falta de espacio
+
+    /**
+     * Informe guardado con las versiones de las listas de las que depende.
+     */
+    private static class Entry {
+        private final String text;
+        private final DataFile[] dependencies;
+        private final long[] versions;  // Versión de cada dependencia al generar el informe
+
+        private Entry(String text, DataFile[] dependencies, long[] versions) {
+            this.text = text;
+            this.dependencies = dependencies;
+            this.versions = versions;
+        }
+    }
+
+    /**
+     * Constructor que crea una caché vacía.
+     *
+     * @param capacity La cantidad máxima de informes guardados; 0 desactiva la caché.
+     */
+    public ReportCache(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {  // Orden de acceso para descartar el menos usado
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ReportCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Registra que cambiaron una o más listas de entidades. Los informes que dependen
+     * de ellas se descartan la próxima vez que se piden.
+     *
+     * @param changedFiles Las listas que cambiaron.
+     */
+    public synchronized void changed(DataFile... changedFiles) {
+        for (DataFile dataFile : changedFiles) {
+            versions[dataFile.ordinal()]++;
+        }
+    }
+
+    /**
+     * Devuelve un informe guardado si sus dependencias no cambiaron; si no, lo genera y lo guarda.
+     *
+     * @param key El tipo de informe y sus parámetros.
+     * @param dependencies Las listas de entidades que usa el informe.
+     * @param generator Genera el informe cuando no está guardado o ya no es válido.
+     * @return El texto del informe.
+     */
+    public synchronized String get(String key, DataFile[] dependencies, Supplier<String> generator) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (isCurrent(entry)) {
+                hits++;
+                return entry.text;
+            }
+            entries.remove(key);
+            invalidations++;
+        }
+        misses++;
+        String text = generator.get();
+        if (capacity > 0) {
+            long[] stamps = new long[dependencies.length];
+            for (int i = 0; i < dependencies.length; i++) {
+                stamps[i] = versions[dependencies[i].ordinal()];
+            }
+            entries.put(key, new Entry(text, dependencies, stamps));
+        }
+        return text;
+    }
+
+    /**
+     * @return La cantidad de informes devueltos desde la caché.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return La cantidad de informes que se tuvieron que generar.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return La cantidad de informes descartados porque cambió una lista de la que dependen.
+     */
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * @return La cantidad de informes descartados por falta de espacio.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Devuelve un resumen de las métricas de la caché.
+     *
+     * @return Un String con aciertos, fallos, invalidaciones y descartes.
+     */
+    @Override
+    public synchronized String toString() {
+        long lookups = hits + misses;
+        return "Caché de informes: " + hits + " aciertos, " + misses + " fallos"
+            + " (" + String.format("%.1f", lookups == 0 ? 0.0 : hits * 100.0 / lookups) + "% de aciertos), "
+            + invalidations + " invalidados, " + evictions + " descartados por espacio";
+    }
+
+    /**
+     * Método auxiliar que indica si ninguna de las dependencias de un informe cambió desde que se generó.
+     */
+    private boolean isCurrent(Entry entry) {
+        for (int i = 0; i < entry.dependencies.length; i++) {
+            if (versions[entry.dependencies[i].ordinal()] != entry.versions[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -10,13 +10,9 @@
  * 
  * @author Adriana Martinez 
  * Fecha de creación: 18/09/2024 
- * Última modificación: 03/11/2024
+ * Última modificación: 18/10/2026
  */
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -30,7 +26,7 @@ public class Resource {
     private int quantity;         // Cantidad del recurso disponible
     private String description;   // Descripción del recurso
     private int threshold = 10;   // Alerta de Recurso Bajo
-    private LocalDate date;
+    private LocalDate date;       // Fecha del último cambio de cantidad (null si no hay cambios registrados)
 
     /**
      * Constructor para inicializar un recurso con su nombre, cantidad y descripción.
@@ -91,13 +87,33 @@ public class Resource {
     }
 
     /**
-     * Actualiza la cantidad disponible del recurso.
+     * Actualiza la cantidad disponible del recurso con la fecha de hoy.
      * Después de actualizar la cantidad, verifica si es necesario generar una alerta de reabastecimiento.
      *
      * @param quantity La nueva cantidad del recurso.
      */
     public void updateQuantity(int quantity) {
+        updateQuantity(quantity, LocalDate.now());
+    }
+
+    /**
+     * Actualiza la cantidad disponible del recurso y la fecha de modificación.
+     *
+     * @param quantity La nueva cantidad del recurso.
+     * @param date La fecha del cambio.
+     */
+    public void updateQuantity(int quantity, LocalDate date) {
         this.quantity = quantity;
+        this.date = date;
+    }
+
+    /**
+     * Actualiza la fecha de modificación del recurso.
+     *
+     * @param date La fecha del último cambio de cantidad.
+     */
+    public void setDate(LocalDate date) {
+        this.date = date;
     }
 
     /**
@@ -148,10 +164,19 @@ public class Resource {
      * @return El objeto Resource creado a partir de la línea CSV.
      */
     public static Resource fromCSV(String csvLine) {
-        String[] fields = csvLine.split(",");
-        String resourceName = fields[0];
-        int quantity = Integer.parseInt(fields[1]);
-        String description = fields[2];
+        return fromCSV(CsvTokenizer.ofLine(csvLine));
+    }
+
+    /**
+     * Método para cargar un objeto Resource desde la línea actual de un tokenizador CSV.
+     * @param tokenizer El tokenizador posicionado en la línea del Resource.
+     * @return El objeto Resource creado a partir de la línea CSV.
+     */
+    public static Resource fromCSV(CsvTokenizer tokenizer) {
+        StringDictionary dictionary = StringDictionary.shared();  // Nombres y descripciones se repiten mucho
+        String resourceName = tokenizer.nextString(dictionary);
+        int quantity = tokenizer.nextInt();
+        String description = tokenizer.nextString(dictionary);
 
         return new Resource(resourceName, quantity, description);
     }
@@ -163,12 +188,7 @@ public class Resource {
      * @throws IOException Si ocurre un error al escribir en el archivo.
      */
     public static void saveToCSV(List<Resource> resources, String filePath) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            for (Resource resource : resources) {
-                writer.write(resource.toCSV());
-                writer.newLine();
-            }
-        }
+        AtomicFileWriter.writeLines(resources, filePath, Resource::toCSV);  // Reemplaza el archivo de forma atómica
     }
 
     /**
@@ -179,11 +199,9 @@ public class Resource {
      */
     public static List<Resource> loadFromCSV(String filePath) throws IOException {
         List<Resource> resources = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                resources.add(Resource.fromCSV(line));
-            }
+        CsvTokenizer tokenizer = CsvTokenizer.open(filePath);
+        while (tokenizer.nextLine()) {
+            resources.add(Resource.fromCSV(tokenizer));
         }
         return resources;
     }
@@ -197,7 +215,7 @@ public class Resource {
         List<Resource> filteredList = new ArrayList<>();
         LocalDate oneYearAgo = LocalDate.now().minusYears(1);
         for (Resource resource : resources) {
-            if (resource.getDate().isAfter(oneYearAgo)) {
+            if (resource.getDate() != null && resource.getDate().isAfter(oneYearAgo)) {
                 filteredList.add(resource);
             }
         }
@@ -213,7 +231,7 @@ public class Resource {
         List<Resource> filteredList = new ArrayList<>();
         LocalDate oneMonthAgo = LocalDate.now().minusMonths(1);
         for (Resource resource : resources) {
-            if (resource.getDate().isAfter(oneMonthAgo)) {
+            if (resource.getDate() != null && resource.getDate().isAfter(oneMonthAgo)) {
                 filteredList.add(resource);
             }
         }
@@ -229,7 +247,7 @@ public class Resource {
         List<Resource> filteredList = new ArrayList<>();
         LocalDate oneWeekAgo = LocalDate.now().minusWeeks(1);
         for (Resource resource : resources) {
-            if (resource.getDate().isAfter(oneWeekAgo)) {
+            if (resource.getDate() != null && resource.getDate().isAfter(oneWeekAgo)) {
                 filteredList.add(resource);
             }
         }
@@ -0,0 +1,270 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase ResourceLedger
+ *
+ * La clase ResourceLedger guarda el historial de cantidades de cada recurso: cada
+ * cambio de cantidad se agrega al final de la serie del recurso y nunca se modifica.
+ * Cada cambio ocupa un char con los días transcurridos desde el cambio anterior y un
+ * int con la cantidad resultante, y la serie recuerda el día del último cambio, de
+ * modo que las consultas de un período reciente recorren la serie desde el final y
+ * solo leen los cambios del período. Con el consumo de los últimos días estima
+ * cuánto falta para que cada recurso llegue a su umbral de alerta.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ResourceLedger {
+    public static final int BURN_RATE_WINDOW_DAYS = 30;  // Días de consumo usados para estimar el ritmo
+    public static final int UNKNOWN_DAYS = -1;           // Sin consumo registrado para estimar
+    private static final int INITIAL_CAPACITY = 4;       // Cambios reservados al crear una serie
+
+    private final Map<Resource, Series> series = new HashMap<>();  // Historial de cada recurso
+
+    /**
+     * Cambios de cantidad de un recurso, del más antiguo al más reciente.
+     */
+    private static class Series {
+        private int lastDay;                                    // Día (desde 1970-01-01) del último cambio
+        private char[] dayGaps = new char[INITIAL_CAPACITY];    // Días desde el cambio anterior (0 en el primero)
+        private int[] quantities = new int[INITIAL_CAPACITY];   // Cantidad después de cada cambio
+        private int size;
+
+        /**
+         * Agrega un cambio al final de la serie. Un día anterior al último cambio se
+         * registra en el día del último cambio, para que la serie siga en orden.
+         */
+        private void append(int day, int quantity) {
+            if (size == 0) {
+                lastDay = day;
+            }
+            int gap = Math.max(0, day - lastDay);
+            while (gap > Character.MAX_VALUE) {  // Saltos de más de 179 años: se repite la cantidad anterior
+                store(Character.MAX_VALUE, quantities[size - 1]);
+                gap -= Character.MAX_VALUE;
+            }
+            store(gap, quantity);
+        }
+
+        private void store(int gap, int quantity) {
+            if (size == quantities.length) {
+                dayGaps = Arrays.copyOf(dayGaps, size * 2);
+                quantities = Arrays.copyOf(quantities, size * 2);
+            }
+            dayGaps[size] = (char) gap;
+            quantities[size] = quantity;
+            lastDay += gap;
+            size++;
+        }
+    }
+
+    /**
+     * Cambio de cantidad de un recurso en un día.
+     */
+    public static class Change {
+        private final LocalDate date;
+        private final int quantity;
+
+        private Change(LocalDate date, int quantity) {
+            this.date = date;
+            this.quantity = quantity;
+        }
+
+        /**
+         * @return El día del cambio.
+         */
+        public LocalDate getDate() {
+            return date;
+        }
+
+        /**
+         * @return La cantidad del recurso después del cambio.
+         */
+        public int getQuantity() {
+            return quantity;
+        }
+    }
+
+    /**
+     * Registra la cantidad actual de un recurso como un cambio del día indicado.
+     *
+     * @param resource El recurso cuya cantidad cambió.
+     * @param date El día del cambio.
+     */
+    public void record(Resource resource, LocalDate date) {
+        Series history = series.get(resource);
+        if (history == null) {
+            history = new Series();
+            series.put(resource, history);
+        }
+        history.append((int) date.toEpochDay(), resource.getQuantity());
+    }
+
+    /**
+     * @param resource El recurso.
+     * @return La cantidad de cambios registrados del recurso.
+     */
+    public int size(Resource resource) {
+        Series history = series.get(resource);
+        return history == null ? 0 : history.size;
+    }
+
+    /**
+     * @param resource El recurso.
+     * @return El día del último cambio del recurso, o null si no tiene cambios registrados.
+     */
+    public LocalDate lastChange(Resource resource) {
+        Series history = series.get(resource);
+        return history == null ? null : LocalDate.ofEpochDay(history.lastDay);
+    }
+
+    /**
+     * Devuelve los cambios de un recurso desde un día. Solo se leen los cambios del
+     * período, empezando por el más reciente.
+     *
+     * @param resource El recurso.
+     * @param from El primer día del período.
+     * @return Los cambios del período, del más antiguo al más reciente.
+     */
+    public List<Change> changesSince(Resource resource, LocalDate from) {
+        Series history = series.get(resource);
+        if (history == null) {
+            return Collections.emptyList();
+        }
+        int fromDay = (int) from.toEpochDay();
+        List<Change> changes = new ArrayList<>();
+        int day = history.lastDay;
+        for (int i = history.size - 1; i >= 0 && day >= fromDay; i--) {
+            changes.add(new Change(LocalDate.ofEpochDay(day), history.quantities[i]));
+            day -= history.dayGaps[i];
+        }
+        Collections.reverse(changes);
+        return changes;
+    }
+
+    /**
+     * Estima el consumo diario de un recurso con las bajas de cantidad de un período
+     * reciente. Los reabastecimientos (aumentos) no cuentan como consumo.
+     *
+     * @param resource El recurso.
+     * @param today El día desde el que se mide el período.
+     * @param windowDays La cantidad de días del período.
+     * @return Las unidades consumidas por día, o 0 si no hay consumo registrado.
+     */
+    public double burnRate(Resource resource, LocalDate today, int windowDays) {
+        Series history = series.get(resource);
+        if (history == null || history.size < 2) {
+            return 0;
+        }
+        int todayDay = (int) today.toEpochDay();
+        int windowStart = todayDay - windowDays;
+        long consumed = 0;
+        int day = history.lastDay;
+        int i = history.size - 1;
+        while (i > 0 && day >= windowStart) {
+            int drop = history.quantities[i - 1] - history.quantities[i];
+            if (drop > 0) {
+                consumed += drop;
+            }
+            day -= history.dayGaps[i];
+            i--;
+        }
+        // day es el del primer cambio de la serie o el último anterior al período
+        int observedDays = Math.max(1, todayDay - Math.max(windowStart, day));
+        return (double) consumed / observedDays;
+    }
+
+    /**
+     * Estima cuántos días faltan para que un recurso llegue a su umbral de alerta,
+     * con el consumo de los últimos {@code BURN_RATE_WINDOW_DAYS} días.
+     *
+     * @param resource El recurso.
+     * @param today El día desde el que se estima.
+     * @return Los días que faltan, 0 si ya está en el umbral o debajo, o
+     *         {@code UNKNOWN_DAYS} si no hay consumo registrado para estimar.
+     */
+    public int daysUntilThreshold(Resource resource, LocalDate today) {
+        int remaining = resource.getQuantity() - resource.getThreshold();
+        if (remaining <= 0) {
+            return 0;
+        }
+        double rate = burnRate(resource, today, BURN_RATE_WINDOW_DAYS);
+        if (rate <= 0) {
+            return UNKNOWN_DAYS;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.ceil(remaining / rate));
+    }
+
+    /**
+     * Convierte el historial en líneas CSV, una por recurso con cambios, con el formato
+     * {@code posición,día del primer cambio,cantidad,días desde el anterior,cantidad,...}.
+     *
+     * @param resources La lista de recursos; la posición de cada recurso identifica su línea.
+     * @return Las líneas CSV del historial.
+     */
+    public List<String> toCSVLines(List<Resource> resources) {
+        List<String> lines = new ArrayList<>(series.size());
+        for (int position = 0; position < resources.size(); position++) {
+            Series history = series.get(resources.get(position));
+            if (history == null) {
+                continue;
+            }
+            int firstDay = history.lastDay;
+            for (int i = 1; i < history.size; i++) {
+                firstDay -= history.dayGaps[i];
+            }
+            StringBuilder line = new StringBuilder();
+            line.append(position).append(',').append(firstDay).append(',').append(history.quantities[0]);
+            for (int i = 1; i < history.size; i++) {
+                line.append(',').append((int) history.dayGaps[i]).append(',').append(history.quantities[i]);
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Método para cargar el historial desde un archivo CSV. Cada recurso con cambios
+     * queda con la fecha de su último cambio. Las líneas de posiciones que no existen
+     * en la lista de recursos se ignoran.
+     *
+     * @param filePath Ruta del archivo CSV del historial.
+     * @param resources La lista de recursos cargada de su propio archivo.
+     * @return El historial cargado.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    public static ResourceLedger loadFromCSV(String filePath, List<Resource> resources) throws IOException {
+        ResourceLedger ledger = new ResourceLedger();
+        CsvTokenizer tokenizer = CsvTokenizer.open(filePath);
+        while (tokenizer.nextLine()) {
+            int position = tokenizer.nextInt();
+            if (position < 0 || position >= resources.size()) {
+                continue;
+            }
+            Series history = new Series();
+            int day = tokenizer.nextInt();
+            history.append(day, tokenizer.nextInt());
+            while (tokenizer.hasMoreFields()) {
+                day += tokenizer.nextInt();
+                history.append(day, tokenizer.nextInt());
+            }
+            Resource resource = resources.get(position);
+            ledger.series.put(resource, history);
+            resource.setDate(LocalDate.ofEpochDay(history.lastDay));
+        }
+        return ledger;
+    }
+}
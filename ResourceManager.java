@@ -10,7 +10,7 @@
  * 
  * @author Angel Higueros
  * Fecha de creación: 03/11/2024 
- * Última modificación: 13/11/2024
+ * Última modificación: 18/10/2026
  */
 
 import java.time.LocalDate;
@@ -35,10 +35,11 @@ public class ResourceManager {
      *
      * @param date la fecha para filtrar los recursos
      * @return una lista de recursos cuya fecha coincide con la especificada
+     *         (los recursos sin cambios registrados no tienen fecha y se omiten)
      */
     public List<Resource> filterResourcesByDate(LocalDate date) {
         return resources.stream()
-                .filter(resource -> resource.getDate().isEqual(date))
+                .filter(resource -> date.equals(resource.getDate()))
                 .collect(Collectors.toList());
     }
 }    
\ No newline at end of file
@@ -0,0 +1,77 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase ResourceNameIndex
+ *
+ * La clase ResourceNameIndex relaciona el nombre normalizado de cada recurso con su
+ * posición en la lista de recursos, para saber en tiempo constante si un recurso ya
+ * existe al registrarlo. La normalización compara igual que equalsIgnoreCase, letra
+ * por letra y sin depender del idioma del sistema.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ResourceNameIndex {
+    private final Map<String, Integer> positions = new HashMap<>();  // Nombre normalizado -> posición en la lista
+    private int size;                                                // Cantidad de recursos agregados
+
+    /**
+     * Crea un índice con todos los recursos de una lista.
+     *
+     * @param resources La lista de recursos.
+     * @return El índice con los recursos de la lista.
+     */
+    public static ResourceNameIndex fromList(List<Resource> resources) {
+        ResourceNameIndex index = new ResourceNameIndex();
+        for (Resource resource : resources) {
+            index.add(resource);
+        }
+        return index;
+    }
+
+    /**
+     * Agrega un recurso que se acaba de agregar al final de la lista. Si ya había un
+     * recurso con el mismo nombre, se conserva el primero, igual que al recorrer la lista.
+     *
+     * @param resource El recurso agregado.
+     */
+    public void add(Resource resource) {
+        positions.putIfAbsent(normalize(resource.getResourceName()), size++);
+    }
+
+    /**
+     * Busca la posición de un recurso por su nombre, sin distinguir mayúsculas.
+     *
+     * @param resourceName El nombre del recurso.
+     * @return La posición del recurso en la lista, o -1 si no existe.
+     */
+    public int positionOf(String resourceName) {
+        Integer position = positions.get(normalize(resourceName));
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Normaliza un nombre de modo que dos nombres iguales según equalsIgnoreCase tengan
+     * la misma forma. Cada letra se pasa a mayúscula y luego a minúscula, como hace
+     * equalsIgnoreCase, en lugar de usar toLowerCase, que depende del idioma del
+     * sistema (por ejemplo, la "I" en turco).
+     *
+     * @param name El nombre a normalizar.
+     * @return El nombre normalizado.
+     */
+    public static String normalize(String name) {
+        StringBuilder folded = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            folded.append(Character.toLowerCase(Character.toUpperCase(name.charAt(i))));
+        }
+        return folded.toString();
+    }
+}
@@ -0,0 +1,241 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase SearchIndex
+ *
+ * La clase SearchIndex es un índice invertido para buscar texto en las descripciones
+ * de los animales y en la descripción y el tratamiento de los registros médicos.
+ * Cada texto se divide en palabras sin tildes y en minúsculas, y para cada palabra se
+ * guardan los documentos donde aparece y cuántas veces. Una búsqueda devuelve los
+ * documentos que contienen todas las palabras consultadas (o palabras que comienzan
+ * con ellas), ordenados por relevancia.
+ *
+ * Con los historiales bajo demanda, los registros médicos se indexan por animal y
+ * número de registro, sin conservar el registro: solo se leen del historial los
+ * registros que aparecen en los resultados de una búsqueda.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+public class SearchIndex {
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");           // Tildes y diéresis separadas por NFD
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");  // Todo lo que no es letra o número
+
+    private final List<Result> documents = new ArrayList<>();                          // Documentos por número
+    private final NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();  // Palabra -> documento -> repeticiones
+    private final Function<Animal, MedicalHistory> histories;                          // Historiales para leer los registros indexados por número
+
+    /**
+     * Representa un documento del índice: la descripción de un animal o un registro médico.
+     */
+    public static class Result {
+        private final Animal animal;          // Animal del documento
+        private final MedicalRecord record;   // Registro médico, o null si es la descripción del animal
+        private final int recordNumber;       // Posición del registro en el historial, o -1 si se guarda el registro
+        private final double score;           // Relevancia en la búsqueda (0 en el índice)
+
+        private Result(Animal animal, MedicalRecord record, int recordNumber, double score) {
+            this.animal = animal;
+            this.record = record;
+            this.recordNumber = recordNumber;
+            this.score = score;
+        }
+
+        public Animal getAnimal() {
+            return animal;
+        }
+
+        /**
+         * @return El registro médico, o null si el resultado es la descripción del animal.
+         */
+        public MedicalRecord getRecord() {
+            return record;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Constructor de SearchIndex para índices que solo guardan registros completos.
+     */
+    public SearchIndex() {
+        this(null);
+    }
+
+    /**
+     * Constructor de SearchIndex.
+     *
+     * @param histories Función que devuelve el historial de un animal, para leer los
+     *                  registros agregados con {@link #addRecord(Animal, int, MedicalRecord)}.
+     */
+    public SearchIndex(Function<Animal, MedicalHistory> histories) {
+        this.histories = histories;
+    }
+
+    /**
+     * Agrega la descripción de un animal al índice.
+     *
+     * @param animal El animal a agregar.
+     */
+    public void addAnimal(Animal animal) {
+        add(new Result(animal, null, -1, 0), animal.getDescription());
+    }
+
+    /**
+     * Agrega la descripción y el tratamiento de un registro médico al índice.
+     *
+     * @param animal El animal del registro.
+     * @param record El registro médico a agregar.
+     */
+    public void addRecord(Animal animal, MedicalRecord record) {
+        add(new Result(animal, record, -1, 0), record.getDescription() + " " + record.getTreatment());
+    }
+
+    /**
+     * Agrega la descripción y el tratamiento de un registro médico al índice sin
+     * conservar el registro: en las búsquedas se lee del historial del animal por su número.
+     *
+     * @param animal El animal del registro.
+     * @param recordNumber La posición del registro en el historial del animal.
+     * @param record El registro médico a agregar.
+     */
+    public void addRecord(Animal animal, int recordNumber, MedicalRecord record) {
+        add(new Result(animal, null, recordNumber, 0), record.getDescription() + " " + record.getTreatment());
+    }
+
+    /**
+     * Agrega todos los registros de un historial médico al índice.
+     *
+     * @param history El historial médico a agregar.
+     */
+    public void addHistory(MedicalHistory history) {
+        for (MedicalRecord record : history.getRecords()) {
+            addRecord(history.getAnimal(), record);
+        }
+    }
+
+    /**
+     * Busca los documentos que contienen todas las palabras de la consulta. Cada palabra
+     * también coincide con las palabras que comienzan con ella ("parvo" encuentra "parvovirus").
+     * La relevancia suma, por cada coincidencia, las repeticiones de la palabra en el
+     * documento multiplicadas por lo poco común que es la palabra en el índice.
+     *
+     * @param query El texto a buscar.
+     * @param limit La cantidad máxima de resultados.
+     * @return Los resultados, del más relevante al menos relevante.
+     */
+    public List<Result> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Integer, Double> scores = null;  // Documentos que coinciden con todas las palabras vistas hasta ahora
+        for (String term : terms) {
+            Map<Integer, Double> termScores = new HashMap<>();
+            for (Map<Integer, Integer> docs : postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                double idf = Math.log(1.0 + (double) documents.size() / docs.size());
+                for (Map.Entry<Integer, Integer> doc : docs.entrySet()) {
+                    termScores.merge(doc.getKey(), doc.getValue() * idf, Double::sum);
+                }
+            }
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                    entry.setValue(entry.getValue() + termScores.get(entry.getKey()));
+                }
+            }
+            if (scores.isEmpty()) {
+                break;  // Ninguna coincidencia con todas las palabras
+            }
+        }
+
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort((a, b) -> a.getValue().equals(b.getValue())
+            ? Integer.compare(a.getKey(), b.getKey())       // Empates en el orden en que se agregaron
+            : Double.compare(b.getValue(), a.getValue()));
+        List<Result> results = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (Map.Entry<Integer, Double> entry : ranked) {
+            if (results.size() == limit) {
+                break;
+            }
+            Result document = documents.get(entry.getKey());
+            MedicalRecord record = document.recordNumber < 0 ? document.record : readRecord(document);
+            if (document.recordNumber >= 0 && record == null) {
+                continue;  // El historial ya no tiene el registro
+            }
+            results.add(new Result(document.animal, record, document.recordNumber, entry.getValue()));
+        }
+        return results;
+    }
+
+    /**
+     * Divide un texto en palabras sin tildes y en minúsculas.
+     *
+     * @param text El texto a dividir.
+     * @return Las palabras del texto.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Quita las tildes de un texto y lo pasa a minúsculas, para comparar sin distinguirlas.
+     *
+     * @param text El texto a normalizar.
+     * @return El texto sin tildes y en minúsculas.
+     */
+    public static String fold(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Método auxiliar que lee del historial del animal un registro indexado por número.
+     */
+    private MedicalRecord readRecord(Result document) {
+        MedicalHistory history = histories.apply(document.animal);
+        if (history == null || document.recordNumber >= history.getRecords().size()) {
+            return null;
+        }
+        return history.getRecords().get(document.recordNumber);
+    }
+
+    /**
+     * Método auxiliar que registra un documento y las palabras de su texto.
+     */
+    private void add(Result document, String text) {
+        int doc = documents.size();
+        documents.add(document);
+        for (String token : tokenize(text)) {
+            postings.computeIfAbsent(token, t -> new HashMap<>(4)).merge(doc, 1, Integer::sum);
+        }
+    }
+}
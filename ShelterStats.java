@@ -0,0 +1,199 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase ShelterStats
+ *
+ * La clase ShelterStats mantiene los totales que muestran los encabezados de los
+ * reportes: animales (totales, adoptados y peligrosos), tareas (completadas y
+ * pendientes) y recursos con poco stock. Main le avisa cada cambio: agrega los
+ * elementos nuevos y, cuando un elemento cambia, lo quita antes del cambio y lo
+ * vuelve a agregar después. Así los reportes leen los totales sin recorrer las listas.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.util.List;
+
+public class ShelterStats {
+    public static final int LOW_STOCK_LIMIT = 10;  // Cantidad desde la que un recurso deja de estar bajo en stock
+
+    private int totalAnimals;        // Animales registrados
+    private int adoptedAnimals;      // Animales adoptados
+    private int dangerousAnimals;    // Animales peligrosos
+    private int completedTasks;      // Tareas completadas
+    private int pendingTasks;        // Tareas pendientes
+    private int lowStockResources;   // Recursos con menos de LOW_STOCK_LIMIT unidades
+
+    /**
+     * Crea las estadísticas a partir de las listas cargadas.
+     *
+     * @param animals La lista de animales.
+     * @param tasks La lista de tareas.
+     * @param resources La lista de recursos.
+     * @return Las estadísticas de las listas.
+     */
+    public static ShelterStats fromLists(List<Animal> animals, List<Task> tasks, List<Resource> resources) {
+        ShelterStats stats = new ShelterStats();
+        for (Animal animal : animals) {
+            stats.add(animal);
+        }
+        for (Task task : tasks) {
+            stats.add(task);
+        }
+        for (Resource resource : resources) {
+            stats.add(resource);
+        }
+        return stats;
+    }
+
+    /**
+     * Suma un animal según su estado actual.
+     *
+     * @param animal El animal.
+     */
+    public void add(Animal animal) {
+        count(animal, 1);
+    }
+
+    /**
+     * Resta un animal según su estado actual. Se llama antes de cambiar su estado.
+     *
+     * @param animal El animal.
+     */
+    public void remove(Animal animal) {
+        count(animal, -1);
+    }
+
+    /**
+     * Suma una tarea según su estado actual.
+     *
+     * @param task La tarea.
+     */
+    public void add(Task task) {
+        count(task, 1);
+    }
+
+    /**
+     * Resta una tarea según su estado actual. Se llama antes de cambiar su estado.
+     *
+     * @param task La tarea.
+     */
+    public void remove(Task task) {
+        count(task, -1);
+    }
+
+    /**
+     * Suma un recurso según su cantidad actual.
+     *
+     * @param resource El recurso.
+     */
+    public void add(Resource resource) {
+        count(resource, 1);
+    }
+
+    /**
+     * Resta un recurso según su cantidad actual. Se llama antes de cambiar su cantidad.
+     *
+     * @param resource El recurso.
+     */
+    public void remove(Resource resource) {
+        count(resource, -1);
+    }
+
+    /**
+     * @return La cantidad de animales.
+     */
+    public int getTotalAnimals() {
+        return totalAnimals;
+    }
+
+    /**
+     * @return La cantidad de animales adoptados.
+     */
+    public int getAdoptedAnimals() {
+        return adoptedAnimals;
+    }
+
+    /**
+     * @return La cantidad de animales pendientes de adopción.
+     */
+    public int getPendingAdoptions() {
+        return totalAnimals - adoptedAnimals;
+    }
+
+    /**
+     * @return La cantidad de animales peligrosos.
+     */
+    public int getDangerousAnimals() {
+        return dangerousAnimals;
+    }
+
+    /**
+     * @return La cantidad de animales no peligrosos.
+     */
+    public int getNotDangerousAnimals() {
+        return totalAnimals - dangerousAnimals;
+    }
+
+    /**
+     * @return La cantidad de tareas completadas.
+     */
+    public int getCompletedTasks() {
+        return completedTasks;
+    }
+
+    /**
+     * @return La cantidad de tareas pendientes.
+     */
+    public int getPendingTasks() {
+        return pendingTasks;
+    }
+
+    /**
+     * @return La cantidad de recursos con menos de LOW_STOCK_LIMIT unidades.
+     */
+    public int getLowStockResources() {
+        return lowStockResources;
+    }
+
+    /**
+     * Indica si un recurso está bajo en stock.
+     *
+     * @param resource El recurso.
+     * @return true si tiene menos de LOW_STOCK_LIMIT unidades.
+     */
+    public static boolean isLowStock(Resource resource) {
+        return resource.getQuantity() < LOW_STOCK_LIMIT;
+    }
+
+    /**
+     * Métodos auxiliares que suman (delta = 1) o restan (delta = -1) un elemento.
+     */
+    private void count(Animal animal, int delta) {
+        totalAnimals += delta;
+        if (animal.isAdopted()) {
+            adoptedAnimals += delta;
+        }
+        if (animal.getDangerLevel()) {
+            dangerousAnimals += delta;
+        }
+    }
+
+    private void count(Task task, int delta) {
+        if (task.isCompleted()) {
+            completedTasks += delta;
+        } else {
+            pendingTasks += delta;
+        }
+    }
+
+    private void count(Resource resource, int delta) {
+        if (isLowStock(resource)) {
+            lowStockResources += delta;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase Snapshot
+ *
+ * La clase Snapshot lee y escribe una copia binaria por columnas de los animales y
+ * los historiales médicos, que son las listas más grandes del sistema. Los IDs,
+ * edades, indicadores y fechas (en días desde 1970-01-01) se guardan como columnas
+ * de ancho fijo, y los textos (nombres, razas, descripciones, veterinarios) en un
+ * diccionario de cadenas sin repetir. Al iniciar, el archivo se lee en un solo bloque
+ * y las columnas se leen en bloque, sin interpretar texto línea por línea. No se mapea
+ * en memoria, porque en Windows un archivo mapeado no se puede reemplazar al guardar.
+ *
+ * Los CSV siguen siendo el formato de intercambio: el snapshot guarda el tamaño y
+ * la fecha de modificación de los CSV con los que se generó, y solo se usa si
+ * coinciden con los archivos actuales.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Snapshot {
+    private static final int MAGIC = 0x414C4253;  // "ALBS"
+    private static final int VERSION = 1;         // Versión del formato
+    private static final int NO_STRING = -1;      // Referencia a un texto nulo
+
+    private static final int FLAG_ADOPTED = 1;    // Bit de animal adoptado
+    private static final int FLAG_DANGER = 2;     // Bit de animal peligroso
+
+    private final String[] strings;               // Diccionario de textos
+    private final ByteBuffer buffer;              // Contenido del archivo, posicionado en la tabla de animales
+
+    /**
+     * Constructor que recibe el diccionario ya leído y el buffer posicionado en las tablas.
+     */
+    private Snapshot(String[] strings, ByteBuffer buffer) {
+        this.strings = strings;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Abre un snapshot si existe y corresponde a la versión actual de los CSV de origen.
+     *
+     * @param filePath La ruta del snapshot.
+     * @param sourceFiles Los CSV con los que se generó el snapshot, en el mismo orden que al escribirlo.
+     * @return El snapshot listo para leer, o null si no existe, está dañado o los CSV cambiaron.
+     */
+    public static Snapshot openIfCurrent(String filePath, String... sourceFiles) {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try {
+            if (Files.size(path) > Integer.MAX_VALUE) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            // Verificar que los CSV de origen no cambiaron desde que se generó el snapshot
+            if (buffer.getInt() != sourceFiles.length) {
+                return null;
+            }
+            for (String sourceFile : sourceFiles) {
+                long[] stamp = stampOf(sourceFile);
+                if (stamp == null || buffer.getLong() != stamp[0] || buffer.getLong() != stamp[1]) {
+                    return null;
+                }
+            }
+            return new Snapshot(readStrings(buffer), buffer);
+        } catch (IOException | RuntimeException e) {
+            return null;  // Snapshot ilegible: se usan los CSV
+        }
+    }
+
+    /**
+     * Materializa la lista de animales a partir de sus columnas.
+     *
+     * @return La lista de animales guardada en el snapshot.
+     */
+    public List<Animal> readAnimals() {
+        ByteBuffer table = buffer.duplicate();
+        int count = table.getInt();
+        int[] ids = readColumn(table, count);
+        int[] ages = readColumn(table, count);
+        int[] names = readColumn(table, count);
+        int[] breeds = readColumn(table, count);
+        int[] descriptions = readColumn(table, count);
+        byte[] flags = new byte[count];
+        table.get(flags);
+
+        List<Animal> animals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            animals.add(Animal.withId(ids[i], string(names[i]), string(breeds[i]), string(descriptions[i]), ages[i],
+                (flags[i] & FLAG_ADOPTED) != 0, (flags[i] & FLAG_DANGER) != 0));
+        }
+        return animals;
+    }
+
+    /**
+     * Carga los animales del snapshot directamente en un almacén compacto, sin crear
+     * un objeto Animal por registro.
+     *
+     * @param store El almacén donde se guardan los animales.
+     */
+    public void readAnimals(AnimalStore store) {
+        ByteBuffer table = buffer.duplicate();
+        int count = table.getInt();
+        int[] ids = readColumn(table, count);
+        int[] ages = readColumn(table, count);
+        int[] names = readColumn(table, count);
+        int[] breeds = readColumn(table, count);
+        int[] descriptions = readColumn(table, count);
+        byte[] flags = new byte[count];
+        table.get(flags);
+
+        for (int i = 0; i < count; i++) {
+            store.put(ids[i], string(names[i]), string(breeds[i]), string(descriptions[i]), ages[i],
+                (flags[i] & FLAG_ADOPTED) != 0, (flags[i] & FLAG_DANGER) != 0);
+        }
+    }
+
+    /**
+     * Materializa la lista de historiales médicos a partir de sus columnas.
+     *
+     * @param animals El registro de animales para asociar cada historial con su animal.
+     * @return La lista de historiales médicos guardada en el snapshot.
+     * @throws IllegalArgumentException Si un historial pertenece a un animal que no existe.
+     */
+    public List<MedicalHistory> readHistories(EntityIndex<Animal> animals) {
+        ByteBuffer table = buffer.duplicate();
+        int animalCount = table.getInt();
+        table.position(table.position() + animalCount * (5 * Integer.BYTES + 1));  // Saltar la tabla de animales
+
+        int count = table.getInt();
+        int[] animalIds = readColumn(table, count);
+        int[] recordCounts = readColumn(table, count);
+        int recordTotal = table.getInt();
+        int[] dates = readColumn(table, recordTotal);
+        int[] descriptions = readColumn(table, recordTotal);
+        int[] treatments = readColumn(table, recordTotal);
+        int[] veterinarians = readColumn(table, recordTotal);
+
+        List<MedicalHistory> histories = new ArrayList<>(count);
+        int record = 0;
+        for (int i = 0; i < count; i++) {
+            Animal animal = animals.findById(animalIds[i]);
+            if (animal == null) {
+                throw new IllegalArgumentException("Animal con ID " + animalIds[i] + " no encontrado.");
+            }
+            MedicalHistory history = new MedicalHistory(animal);
+            for (int end = record + recordCounts[i]; record < end; record++) {
+                history.addRecord(new MedicalRecord(LocalDate.ofEpochDay(dates[record]), string(descriptions[record]),
+                    string(treatments[record]), string(veterinarians[record])));
+            }
+            histories.add(history);
+        }
+        return histories;
+    }
+
+    /**
+     * Escribe el snapshot de animales e historiales médicos, reemplazando el archivo de forma atómica.
+     * Debe llamarse justo después de guardar o cargar los CSV de origen, cuando coinciden con las listas.
+     *
+     * @param animals La lista de animales.
+     * @param histories La lista de historiales médicos.
+     * @param filePath La ruta del snapshot.
+     * @param sourceFiles Los CSV que representan las mismas listas, para validar el snapshot al abrirlo.
+     * @throws IOException Si ocurre un error al escribir el archivo o al leer los datos de los CSV.
+     */
+    public static void write(List<Animal> animals, List<MedicalHistory> histories, String filePath, String... sourceFiles) throws IOException {
+        write(encode(animals, histories), filePath, sourceFiles);
+    }
+
+    /**
+     * Escribe un snapshot con tablas ya codificadas, reemplazando el archivo de forma atómica.
+     * Permite codificar las listas en un momento consistente y escribir el archivo después.
+     *
+     * @param tables Las tablas codificadas con {@link #encode(List, List)}.
+     * @param filePath La ruta del snapshot.
+     * @param sourceFiles Los CSV que representan las mismas listas, para validar el snapshot al abrirlo.
+     * @throws IOException Si ocurre un error al escribir el archivo o al leer los datos de los CSV.
+     */
+    public static void write(byte[] tables, String filePath, String... sourceFiles) throws IOException {
+        long[][] stamps = new long[sourceFiles.length][];
+        for (int i = 0; i < sourceFiles.length; i++) {
+            stamps[i] = stampOf(sourceFiles[i]);
+            if (stamps[i] == null) {
+                throw new IOException("No se encuentra archivo " + sourceFiles[i]);
+            }
+        }
+
+        AtomicFileWriter.write(filePath, output -> {
+            DataOutputStream out = new DataOutputStream(output);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(stamps.length);
+            for (long[] stamp : stamps) {
+                out.writeLong(stamp[0]);
+                out.writeLong(stamp[1]);
+            }
+            out.write(tables);
+            out.flush();
+        });
+    }
+
+    /**
+     * Codifica el diccionario de textos y las tablas de animales e historiales médicos en memoria.
+     *
+     * @param animals La lista de animales.
+     * @param histories La lista de historiales médicos.
+     * @return Los bytes de las tablas, listos para {@link #write(byte[], String, String...)}.
+     */
+    public static byte[] encode(List<Animal> animals, List<MedicalHistory> histories) {
+        // Construir el diccionario de textos sin repetir
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        int records = 0;
+        for (Animal animal : animals) {
+            intern(dictionary, strings, animal.getName());
+            intern(dictionary, strings, animal.getBreed());
+            intern(dictionary, strings, animal.getDescription());
+        }
+        for (MedicalHistory history : histories) {
+            for (MedicalRecord record : history.getRecords()) {
+                intern(dictionary, strings, record.getDescription());
+                intern(dictionary, strings, record.getTreatment());
+                intern(dictionary, strings, record.getVeterinarian());
+                records++;
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            // Diccionario: cantidad, desplazamientos de fin de cada texto y los bytes UTF-8 seguidos
+            byte[][] encoded = new byte[strings.size()][];
+            int offset = 0;
+            out.writeInt(strings.size());
+            for (int i = 0; i < encoded.length; i++) {
+                encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+                offset += encoded[i].length;
+                out.writeInt(offset);
+            }
+            for (byte[] text : encoded) {
+                out.write(text);
+            }
+
+            // Tabla de animales: una columna por atributo
+            out.writeInt(animals.size());
+            for (Animal animal : animals) {
+                out.writeInt(animal.getId());
+            }
+            for (Animal animal : animals) {
+                out.writeInt(animal.getAge());
+            }
+            for (Animal animal : animals) {
+                out.writeInt(ref(dictionary, animal.getName()));
+            }
+            for (Animal animal : animals) {
+                out.writeInt(ref(dictionary, animal.getBreed()));
+            }
+            for (Animal animal : animals) {
+                out.writeInt(ref(dictionary, animal.getDescription()));
+            }
+            for (Animal animal : animals) {
+                out.writeByte((animal.isAdopted() ? FLAG_ADOPTED : 0) | (animal.getDangerLevel() ? FLAG_DANGER : 0));
+            }
+
+            // Tabla de historiales: animal y cantidad de registros, luego las columnas de los registros
+            out.writeInt(histories.size());
+            for (MedicalHistory history : histories) {
+                out.writeInt(history.getAnimal().getId());
+            }
+            for (MedicalHistory history : histories) {
+                out.writeInt(history.getRecords().size());
+            }
+            out.writeInt(records);
+            for (MedicalHistory history : histories) {
+                for (MedicalRecord record : history.getRecords()) {
+                    out.writeInt((int) record.getDate().toEpochDay());
+                }
+            }
+            for (MedicalHistory history : histories) {
+                for (MedicalRecord record : history.getRecords()) {
+                    out.writeInt(ref(dictionary, record.getDescription()));
+                }
+            }
+            for (MedicalHistory history : histories) {
+                for (MedicalRecord record : history.getRecords()) {
+                    out.writeInt(ref(dictionary, record.getTreatment()));
+                }
+            }
+            for (MedicalHistory history : histories) {
+                for (MedicalRecord record : history.getRecords()) {
+                    out.writeInt(ref(dictionary, record.getVeterinarian()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);  // No ocurre al escribir en memoria
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Método auxiliar que obtiene el tamaño y la fecha de modificación de un archivo, o null si no existe.
+     */
+    private static long[] stampOf(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        return new long[] { Files.size(path), Files.getLastModifiedTime(path).toMillis() };
+    }
+
+    /**
+     * Método auxiliar que lee el diccionario de textos y deja el buffer al inicio de las tablas.
+     */
+    private static String[] readStrings(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        int[] ends = readColumn(buffer, count);
+        String[] strings = new String[count];
+        byte[] bytes = new byte[count == 0 ? 0 : ends[count - 1]];
+        buffer.get(bytes);
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            strings[i] = new String(bytes, offset, ends[i] - offset, StandardCharsets.UTF_8);
+            offset = ends[i];
+        }
+        return strings;
+    }
+
+    /**
+     * Método auxiliar que lee una columna de enteros en bloque.
+     */
+    private static int[] readColumn(ByteBuffer buffer, int count) {
+        int[] column = new int[count];
+        buffer.asIntBuffer().get(column);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return column;
+    }
+
+    /**
+     * Método auxiliar que obtiene un texto del diccionario a partir de su referencia.
+     */
+    private String string(int ref) {
+        return ref == NO_STRING ? null : strings[ref];
+    }
+
+    /**
+     * Método auxiliar que agrega un texto al diccionario si todavía no está.
+     */
+    private static void intern(Map<String, Integer> dictionary, List<String> strings, String value) {
+        if (value != null && !dictionary.containsKey(value)) {
+            dictionary.put(value, strings.size());
+            strings.add(value);
+        }
+    }
+
+    /**
+     * Método auxiliar que obtiene la referencia de un texto en el diccionario.
+     */
+    private static int ref(Map<String, Integer> dictionary, String value) {
+        return value == null ? NO_STRING : dictionary.get(value);
+    }
+}
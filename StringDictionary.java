@@ -0,0 +1,178 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase StringDictionary
+ *
+ * La clase StringDictionary comparte una sola instancia de String para los textos
+ * que se repiten al cargar los CSV (razas, veterinarios, tratamientos, recursos).
+ * La búsqueda se hace directo sobre los bytes UTF-8 del campo, de modo que cuando
+ * el texto ya existe no se crea ningún String nuevo. Lleva estadísticas de aciertos
+ * y de la memoria aproximada que se ahorró.
+ *
+ * Los archivos se cargan en paralelo, por lo que la tabla se divide en secciones
+ * con su propio bloqueo según el hash del texto: dos hilos solo se esperan cuando
+ * buscan textos de la misma sección. Las estadísticas usan contadores concurrentes.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public class StringDictionary {
+    private static final StringDictionary SHARED = new StringDictionary();  // Diccionario común de la carga
+
+    private static final int STRIPES = 16;             // Secciones con bloqueo propio (potencia de 2)
+    private static final int INITIAL_CAPACITY = 64;    // Capacidad inicial de cada sección (potencia de 2)
+    private static final int MAX_LENGTH = 64;          // Textos más largos casi nunca se repiten
+    private static final int MAX_ENTRIES = 1 << 16;    // Límite de textos distintos guardados
+    private static final int STRING_OVERHEAD = 40;     // Bytes aproximados de un String vacío y su arreglo
+
+    private final Stripe[] stripes = new Stripe[STRIPES];  // Secciones de la tabla
+    private final LongAdder lookups = new LongAdder();     // Búsquedas realizadas
+    private final LongAdder hits = new LongAdder();        // Búsquedas que encontraron el texto
+    private final LongAdder bytesSaved = new LongAdder();  // Memoria aproximada ahorrada por los aciertos
+
+    /**
+     * Sección de la tabla con sondeo lineal. Cada sección se bloquea por separado.
+     */
+    private static class Stripe {
+        private byte[][] keys = new byte[INITIAL_CAPACITY][];   // Bytes UTF-8 de cada texto (null indica casilla libre)
+        private String[] values = new String[INITIAL_CAPACITY]; // Texto compartido de cada casilla
+        private int size;                                       // Cantidad de textos guardados
+    }
+
+    /**
+     * Constructor de StringDictionary. Crea las secciones vacías.
+     */
+    public StringDictionary() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Devuelve el diccionario común que usan los métodos fromCSV.
+     *
+     * @return El diccionario común.
+     */
+    public static StringDictionary shared() {
+        return SHARED;
+    }
+
+    /**
+     * Busca un texto a partir de sus bytes UTF-8 y devuelve la instancia compartida.
+     * Si el texto no existe, se crea y se guarda para las siguientes búsquedas.
+     * Solo bloquea la sección del texto.
+     *
+     * @param bytes El arreglo que contiene el texto.
+     * @param offset La posición donde comienza el texto.
+     * @param length La cantidad de bytes del texto.
+     * @return La instancia compartida del texto.
+     */
+    public String intern(byte[] bytes, int offset, int length) {
+        lookups.increment();
+        if (length > MAX_LENGTH) {
+            return new String(bytes, offset, length, StandardCharsets.UTF_8);
+        }
+        int hash = hash(bytes, offset, length);
+        Stripe stripe = stripes[(hash >>> 28) & (STRIPES - 1)];  // Bits altos: la casilla usa los bajos
+        synchronized (stripe) {
+            int mask = stripe.keys.length - 1;
+            int slot = hash & mask;
+            while (stripe.keys[slot] != null) {
+                byte[] key = stripe.keys[slot];
+                if (Arrays.equals(key, 0, key.length, bytes, offset, offset + length)) {
+                    hits.increment();
+                    bytesSaved.add(STRING_OVERHEAD + ((length + 7) & ~7));
+                    return stripe.values[slot];
+                }
+                slot = (slot + 1) & mask;  // Sondeo lineal
+            }
+
+            String value = new String(bytes, offset, length, StandardCharsets.UTF_8);
+            if (stripe.size >= MAX_ENTRIES / STRIPES) {
+                return value;  // Sección llena: el texto no se comparte
+            }
+            stripe.keys[slot] = Arrays.copyOfRange(bytes, offset, offset + length);
+            stripe.values[slot] = value;
+            stripe.size++;
+            if (stripe.size * 4 > stripe.keys.length * 3) {  // Mantener factor de carga menor a 0.75
+                resize(stripe, stripe.keys.length * 2);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Devuelve el porcentaje de búsquedas que encontraron el texto ya guardado.
+     *
+     * @return El porcentaje de aciertos, entre 0 y 100.
+     */
+    public double getHitRate() {
+        long total = lookups.sum();
+        return total == 0 ? 0 : hits.sum() * 100.0 / total;
+    }
+
+    /**
+     * Devuelve la memoria aproximada que se ahorró al compartir textos repetidos.
+     *
+     * @return Los bytes ahorrados.
+     */
+    public long getBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    /**
+     * Devuelve la cantidad de textos distintos guardados.
+     *
+     * @return La cantidad de textos del diccionario.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Método auxiliar que calcula el hash de un rango de bytes.
+     */
+    private static int hash(byte[] bytes, int offset, int length) {
+        int h = 0x811C9DC5;  // FNV-1a
+        for (int i = offset; i < offset + length; i++) {
+            h = (h ^ bytes[i]) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Método auxiliar que duplica la tabla de una sección y reubica sus textos.
+     * Se llama con la sección bloqueada.
+     */
+    private static void resize(Stripe stripe, int newCapacity) {
+        byte[][] newKeys = new byte[newCapacity][];
+        String[] newValues = new String[newCapacity];
+        int mask = newCapacity - 1;
+        for (int i = 0; i < stripe.keys.length; i++) {
+            if (stripe.keys[i] != null) {
+                int slot = hash(stripe.keys[i], 0, stripe.keys[i].length) & mask;
+                while (newKeys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                newKeys[slot] = stripe.keys[i];
+                newValues[slot] = stripe.values[i];
+            }
+        }
+        stripe.keys = newKeys;
+        stripe.values = newValues;
+    }
+}
@@ -10,7 +10,7 @@
  * 
  * @author Marjori Flores
  * Fecha de creación: 15/09/2024
- * Última modificación: 13/09/2024
+ * Última modificación: 18/10/2026
  */
 
 import java.io.*;
@@ -112,19 +112,28 @@ public class Task {
     /**
      * Método para cargar un objeto Task desde una línea CSV.
      * @param csvLine La línea CSV que contiene la información del Task.
-     * @param volunteers Lista de voluntarios disponibles para asociar con la tarea.
+     * @param volunteers Registro de voluntarios disponibles para asociar con la tarea.
      * @return El objeto Task creado a partir de la línea CSV.
      */
-    public static Task fromCSV(String csvLine, List<Volunteer> volunteers) {
-        String[] fields = csvLine.split(",");
-        String taskName = fields[0];
-        String description = fields[1];
-        boolean isCompleted = Boolean.parseBoolean(fields[2]);
-        int volunteerId = fields.length > 3 ? Integer.parseInt(fields[3]) : -1; // ID del voluntario
+    public static Task fromCSV(String csvLine, EntityRegistry<Volunteer> volunteers) {
+        return fromCSV(CsvTokenizer.ofLine(csvLine), volunteers);
+    }
+
+    /**
+     * Método para cargar un objeto Task desde la línea actual de un tokenizador CSV.
+     * @param tokenizer El tokenizador posicionado en la línea del Task.
+     * @param volunteers Registro de voluntarios disponibles para asociar con la tarea.
+     * @return El objeto Task creado a partir de la línea CSV.
+     */
+    public static Task fromCSV(CsvTokenizer tokenizer, EntityRegistry<Volunteer> volunteers) {
+        String taskName = tokenizer.nextString();
+        String description = tokenizer.nextString();
+        boolean isCompleted = tokenizer.nextBoolean();
+        int volunteerId = tokenizer.hasMoreFields() ? tokenizer.nextInt() : -1; // ID del voluntario
 
         Volunteer volunteer = null;
         if (volunteerId != -1) {
-            volunteer = volunteers.stream().filter(v -> v.getId() == volunteerId).findFirst().orElse(null); // Buscar el voluntario por ID
+            volunteer = volunteers.findById(volunteerId); // Buscar el voluntario por ID
         }
 
         return new Task(taskName, description, isCompleted, volunteer);
@@ -137,28 +146,21 @@ public class Task {
      * @throws IOException Si ocurre un error al escribir en el archivo.
      */
     public static void saveToCSV(List<Task> tasks, String filePath) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            for (Task task : tasks) {
-                writer.write(task.toCSV());
-                writer.newLine();
-            }
-        }
+        AtomicFileWriter.writeLines(tasks, filePath, Task::toCSV);  // Reemplaza el archivo de forma atómica
     }
 
     /**
      * Método para cargar la lista de tareas desde un archivo CSV.
      * @param filePath Ruta del archivo CSV desde donde se cargarán las tareas.
-     * @param volunteers Lista de voluntarios disponibles para asociar con las tareas cargadas.
+     * @param volunteers Registro de voluntarios disponibles para asociar con las tareas cargadas.
      * @return Lista de tareas cargadas desde el archivo CSV.
      * @throws IOException Si ocurre un error al leer el archivo.
      */
-    public static List<Task> loadFromCSV(String filePath, List<Volunteer> volunteers) throws IOException {
+    public static List<Task> loadFromCSV(String filePath, EntityRegistry<Volunteer> volunteers) throws IOException {
         List<Task> tasks = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                tasks.add(Task.fromCSV(line, volunteers));
-            }
+        CsvTokenizer tokenizer = CsvTokenizer.open(filePath);
+        while (tokenizer.nextLine()) {
+            tasks.add(Task.fromCSV(tokenizer, volunteers));
         }
         return tasks;
     }
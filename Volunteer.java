@@ -10,7 +10,7 @@
  * 
  * @author Daniela Navas
  * Fecha de creación: 12/09/2024 
- * Última modificación: 13/09/2024
+ * Última modificación: 18/10/2026
  */
 
  import java.io.*;
@@ -115,11 +115,21 @@ public class Volunteer {
      * @throws NumberFormatException Si los valores numéricos en la línea CSV no pueden ser convertidos correctamente.
      */
     public static Volunteer fromCSV(String csvLine) {
-        String[] fields = csvLine.split(",");
-        int id = Integer.parseInt(fields[0]);
-        String name = fields[1];
-        String contactInfo = fields[2];
-        int hoursWorked = Integer.parseInt(fields[3]);
+        return fromCSV(CsvTokenizer.ofLine(csvLine));
+    }
+
+    /**
+     * Carga un objeto Volunteer desde la línea actual de un tokenizador CSV.
+     *
+     * @param tokenizer El tokenizador posicionado en la línea del Voluntario.
+     * @return Un objeto Voluntario con los atributos cargados desde la línea CSV.
+     * @throws NumberFormatException Si los valores numéricos en la línea CSV no pueden ser convertidos correctamente.
+     */
+    public static Volunteer fromCSV(CsvTokenizer tokenizer) {
+        int id = tokenizer.nextInt();
+        String name = tokenizer.nextString();
+        String contactInfo = tokenizer.nextString();
+        int hoursWorked = tokenizer.nextInt();
 
         // Crear el voluntario con el ID ya cargado
         Volunteer volunteer = new Volunteer(name, contactInfo, hoursWorked);
@@ -136,12 +146,7 @@ public class Volunteer {
      * @throws IOException Si ocurre un error al intentar escribir en el archivo.
      */
     public static void saveToCSV(List<Volunteer> volunteers, String filePath) throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            for (Volunteer volunteer : volunteers) {
-                writer.write(volunteer.toCSV());
-                writer.newLine();
-            }
-        }
+        AtomicFileWriter.writeLines(volunteers, filePath, Volunteer::toCSV);  // Reemplaza el archivo de forma atómica
     }
 
     /**
@@ -153,11 +158,9 @@ public class Volunteer {
      */
     public static List<Volunteer> loadFromCSV(String filePath) throws IOException {
         List<Volunteer> volunteers = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                volunteers.add(Volunteer.fromCSV(line));
-            }
+        CsvTokenizer tokenizer = CsvTokenizer.open(filePath);
+        while (tokenizer.nextLine()) {
+            volunteers.add(Volunteer.fromCSV(tokenizer));
         }
         return volunteers;
     }
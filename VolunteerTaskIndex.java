@@ -0,0 +1,104 @@
+/**
+ * Universidad del Valle de Guatemala - Segundo Semestre 2024
+ * Programación Orientada a Objetos (POO)
+ * Proyecto Final
+ *
+ * Clase VolunteerTaskIndex
+ *
+ * La clase VolunteerTaskIndex agrupa las tareas por voluntario, separadas en
+ * completadas y pendientes. Las consultas del historial y la carga de trabajo de un
+ * voluntario recorren solo sus propias tareas, en lugar de la lista completa.
+ * Cuando una tarea cambia de estado o de voluntario, se quita del índice antes del
+ * cambio y se vuelve a agregar después.
+ *
+ * @author Grupo 3
+ * Fecha de creación: 18/10/2026
+ * Última modificación: 18/10/2026
+ */
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class VolunteerTaskIndex {
+    private final Map<Integer, Partition> byVolunteer = new HashMap<>();  // Tareas por ID de voluntario
+
+    /**
+     * Tareas de un voluntario, separadas por estado. Los conjuntos conservan el orden
+     * en que se agregaron y permiten quitar una tarea sin recorrerlos.
+     */
+    private static class Partition {
+        private final Set<Task> completed = new LinkedHashSet<>();
+        private final Set<Task> pending = new LinkedHashSet<>();
+
+        private Set<Task> of(Task task) {
+            return task.isCompleted() ? completed : pending;
+        }
+    }
+
+    /**
+     * Crea un índice con todas las tareas de una lista.
+     *
+     * @param tasks La lista de tareas.
+     * @return El índice con las tareas de la lista.
+     */
+    public static VolunteerTaskIndex fromList(List<Task> tasks) {
+        VolunteerTaskIndex index = new VolunteerTaskIndex();
+        for (Task task : tasks) {
+            index.add(task);
+        }
+        return index;
+    }
+
+    /**
+     * Agrega una tarea según su voluntario y estado actuales. Las tareas sin voluntario no se indexan.
+     *
+     * @param task La tarea a agregar.
+     */
+    public void add(Task task) {
+        if (task.getVolunteer() != null) {
+            byVolunteer.computeIfAbsent(task.getVolunteer().getId(), id -> new Partition()).of(task).add(task);
+        }
+    }
+
+    /**
+     * Quita una tarea según su voluntario y estado actuales. Se llama antes de cambiar
+     * el voluntario o el estado de la tarea.
+     *
+     * @param task La tarea a quitar.
+     */
+    public void remove(Task task) {
+        if (task.getVolunteer() != null) {
+            Partition partition = byVolunteer.get(task.getVolunteer().getId());
+            if (partition != null) {
+                partition.of(task).remove(task);
+            }
+        }
+    }
+
+    /**
+     * Devuelve las tareas completadas de un voluntario.
+     *
+     * @param volunteer El voluntario.
+     * @return Las tareas completadas, en el orden en que se agregaron al índice.
+     */
+    public Collection<Task> getCompleted(Volunteer volunteer) {
+        Partition partition = byVolunteer.get(volunteer.getId());
+        return partition == null ? Collections.emptySet() : Collections.unmodifiableSet(partition.completed);
+    }
+
+    /**
+     * Devuelve las tareas pendientes de un voluntario.
+     *
+     * @param volunteer El voluntario.
+     * @return Las tareas pendientes, en el orden en que se agregaron al índice.
+     */
+    public Collection<Task> getPending(Volunteer volunteer) {
+        Partition partition = byVolunteer.get(volunteer.getId());
+        return partition == null ? Collections.emptySet() : Collections.unmodifiableSet(partition.pending);
+    }
+}